@@ -2,8 +2,10 @@ package com.flavorshare;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RecipePlatformApplication {
     public static void main(String[] args) {
         SpringApplication.run(RecipePlatformApplication.class, args);
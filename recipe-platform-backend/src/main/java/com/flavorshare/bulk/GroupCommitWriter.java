@@ -0,0 +1,172 @@
+package com.flavorshare.bulk;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs small writes (likes, reviews) in a transaction. By default each runs in its
+ * own, on the caller's thread. With {@code writes.group-commit.enabled} they go to
+ * a bounded queue instead, and one writer thread commits them in micro-batches: up
+ * to {@code max-batch} writes, collected for at most {@code max-wait-ms} after the
+ * first, share one transaction and so one log flush. Callers wait until their
+ * batch has committed, so an acknowledged write is as durable as before.
+ *
+ * <p>If any write in a batch throws or marks the transaction rollback-only, the
+ * batch is rolled back and each write is run again in its own transaction, so
+ * only that write sees the failure.
+ */
+@Component
+public class GroupCommitWriter {
+    private static final long IDLE_POLL_MS = 100;
+
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Write<?>> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public GroupCommitWriter(PlatformTransactionManager transactionManager,
+                             @Value("${writes.group-commit.enabled:false}") boolean enabled,
+                             @Value("${writes.group-commit.queue-capacity:1024}") int queueCapacity,
+                             @Value("${writes.group-commit.max-batch:64}") int maxBatch,
+                             @Value("${writes.group-commit.max-wait-ms:5}") long maxWaitMs) {
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        writer = new Thread(this::drain, "group-commit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) return;
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // anything queued as the writer exited
+        for (Write<?> write; (write = queue.poll()) != null; ) runAlone(write);
+    }
+
+    /**
+     * Runs {@code work} in a transaction and returns its result once committed.
+     * The work must do all its database access through the given status's
+     * transaction and signal failure with {@code setRollbackOnly()} or an exception.
+     */
+    public <T> T execute(TransactionCallback<T> work) {
+        if (!running) return tx.execute(work);
+        Write<T> write = new Write<>(work);
+        // a full queue means the writer is behind; fall back to a transaction of our own
+        if (!queue.offer(write)) return tx.execute(work);
+        // stopped while we were queueing: the writer may never see it
+        if (!running && queue.remove(write)) return tx.execute(work);
+        try {
+            return write.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void drain() {
+        List<Write<?>> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write<?> first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    Write<?> next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Write<?> write : batch) runAlone(write);
+                return;
+            } catch (RuntimeException e) {
+                // keep the writer alive; commit() has already answered the batch
+                e.printStackTrace();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Write<?>> batch) {
+        if (batch.size() == 1) {
+            runAlone(batch.get(0));
+            return;
+        }
+        try {
+            tx.executeWithoutResult(status -> {
+                for (Write<?> write : batch) write.run(status);
+                if (status.isRollbackOnly()) throw new BatchRolledBack();
+            });
+        } catch (RuntimeException e) {
+            // retry one by one, so only the failing write is affected
+            for (Write<?> write : batch) runAlone(write);
+            return;
+        }
+        for (Write<?> write : batch) write.complete();
+    }
+
+    private <T> void runAlone(Write<T> write) {
+        try {
+            write.result.complete(tx.execute(write.work));
+        } catch (Throwable e) {
+            write.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class Write<T> {
+        final TransactionCallback<T> work;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        T value;
+
+        Write(TransactionCallback<T> work) {
+            this.work = work;
+        }
+
+        void run(TransactionStatus status) {
+            value = work.doInTransaction(status);
+        }
+
+        // only after the shared transaction has committed
+        void complete() {
+            result.complete(value);
+        }
+    }
+
+    private static final class BatchRolledBack extends RuntimeException {
+        BatchRolledBack() {
+            super("write in batch marked rollback-only", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.flavorshare.bulk;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flavorshare.dto.ImportResult;
+import com.flavorshare.model.Recipe;
+import com.flavorshare.model.User;
+import com.flavorshare.repo.RecipeRepository;
+import com.flavorshare.repo.UserRepository;
+import com.flavorshare.search.RecipeIndexer;
+import com.flavorshare.util.RecipeRules;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Imports recipes from a JSON array or newline-delimited JSON, reading one item
+ * at a time. Valid recipes are committed {@link #CHUNK_SIZE} per transaction;
+ * with sequence ids and {@code hibernate.jdbc.batch_size} the recipe rows and
+ * their ingredient/instruction rows go to the database as JDBC batches.
+ */
+@Component
+public class RecipeImporter {
+    public static final int CHUNK_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final UserRepository userRepository;
+    private final RecipeIndexer recipeIndexer;
+    private final EntityManager entityManager;
+    private final ObjectReader reader;
+    private final TransactionTemplate tx;
+
+    public RecipeImporter(RecipeRepository recipeRepository, UserRepository userRepository,
+                          RecipeIndexer recipeIndexer, EntityManager entityManager,
+                          ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.userRepository = userRepository;
+        this.recipeIndexer = recipeIndexer;
+        this.entityManager = entityManager;
+        this.reader = objectMapper.readerFor(Recipe.class);
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportResult importRecipes(InputStream body) {
+        ImportResult result = new ImportResult();
+        Map<Long, Optional<User>> authors = new HashMap<>();
+        List<Recipe> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+
+        // a root-level array is unwrapped, so both [..] and NDJSON read item by item
+        try (MappingIterator<Recipe> items = reader.readValues(body)) {
+            while (items.hasNextValue()) {
+                int position = index++;
+                Recipe recipe;
+                try {
+                    recipe = items.nextValue();
+                } catch (JsonMappingException e) {
+                    // a badly typed field only rejects its own item
+                    result.reject(position, null, "Invalid recipe: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String error = prepare(recipe, authors);
+                if (error != null) {
+                    result.reject(position, recipe.getTitle(), error);
+                    continue;
+                }
+                chunk.add(recipe);
+                if (chunk.size() == CHUNK_SIZE) commit(chunk, result);
+            }
+        } catch (IOException e) {
+            // malformed JSON: nothing after this point can be read
+            result.abort("Malformed input: " + e.getMessage());
+        }
+        commit(chunk, result);
+        return result;
+    }
+
+    // Same rules as POST /api/recipes; returns the error message, or null when valid
+    private String prepare(Recipe recipe, Map<Long, Optional<User>> authors) {
+        String error = RecipeRules.validate(recipe);
+        if (error != null) return error;
+
+        if (recipe.getAuthor() != null && recipe.getAuthor().getId() != null) {
+            Optional<User> author = authors.computeIfAbsent(recipe.getAuthor().getId(), id -> userRepository.findById(id));
+            if (author.isEmpty()) return "Invalid author ID";
+            recipe.setAuthor(author.get());
+        }
+        RecipeRules.applyDefaults(recipe);
+        // imported recipes are always new, whatever ids the feed carries
+        recipe.setId(null);
+        return null;
+    }
+
+    private void commit(List<Recipe> chunk, ImportResult result) {
+        if (chunk.isEmpty()) return;
+        List<Recipe> saved = tx.execute(status -> {
+            List<Recipe> persisted = recipeRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            return persisted;
+        });
+        result.imported(chunk.size());
+        if (saved != null) saved.forEach(recipeIndexer::index);
+        chunk.clear();
+    }
+}
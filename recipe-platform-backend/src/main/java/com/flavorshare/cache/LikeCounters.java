@@ -0,0 +1,139 @@
+package com.flavorshare.cache;
+
+import com.flavorshare.dto.RecipeSummary;
+import com.flavorshare.event.LikeChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind like counters. A like or unlike adds to a per-recipe
+ * {@link LongAdder}, whose striped cells let concurrent likes on one viral recipe
+ * proceed without contending on a lock or on the recipe row. A scheduled flush
+ * moves the accumulated deltas to {@code recipes.like_count} in one JDBC batch,
+ * and reads add the pending delta to the persisted count ({@link #likeCount}).
+ *
+ * <p>The likes table stays the source of truth: deltas not yet flushed when the
+ * process dies are lost from the counter only, and CounterReconciler recomputes
+ * every counter from the like rows at startup.
+ */
+@Component
+public class LikeCounters {
+    private static final String FLUSH_SQL =
+        "update recipes set like_count = case when like_count + ? < 0 then 0 else like_count + ? end where id = ?";
+
+    // Entries are kept once created: removing one could drop an add racing the removal.
+    // There is at most one per recipe liked since startup; only purged recipes, which
+    // can no longer be liked, are removed (forget).
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // Deltas taken by a flush that has not committed yet, still counted by reads
+    private final Map<Long, Long> flushing = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final RecipeCache recipeCache;
+
+    public LikeCounters(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        RecipeCache recipeCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.recipeCache = recipeCache;
+    }
+
+    /** Likes on the recipe not yet written to its row (negative after unlikes). */
+    public long pending(long recipeId) {
+        LongAdder adder = pending.get(recipeId);
+        long delta = adder != null ? adder.sum() : 0;
+        return delta + flushing.getOrDefault(recipeId, 0L);
+    }
+
+    /** The current like count, given the count read from the recipe row. */
+    public int likeCount(long recipeId, int persisted) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, persisted + pending(recipeId)));
+    }
+
+    /** Adds pending likes to summaries read from the database; returns the same list. */
+    public List<RecipeSummary> merge(List<RecipeSummary> summaries) {
+        if (pending.isEmpty()) return summaries;
+        for (RecipeSummary summary : summaries) {
+            if (pending(summary.getId()) != 0) {
+                summary.setLikeCount(likeCount(summary.getId(), summary.getLikeCount()));
+            }
+        }
+        return summaries;
+    }
+
+    // Counted as soon as the like is written, so the liker sees it in the response;
+    // a rollback takes it back out
+    @EventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        add(event.getRecipeId(), event.getDelta());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void afterLikeRolledBack(LikeChangedEvent event) {
+        add(event.getRecipeId(), -event.getDelta());
+    }
+
+    @Scheduled(fixedDelayString = "${likes.counters.flush-interval-ms:1000}",
+               initialDelayString = "${likes.counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            // per-cell get-and-set: an add landing meanwhile is either taken now or left for next time
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                flushing.merge(entry.getKey(), delta, Long::sum);
+                batch.add(new Object[] { delta, delta, entry.getKey() });
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            int[] updated = tx.execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            for (int i = 0; i < batch.size(); i++) {
+                // no row yet (inserted by a transaction still open) or no longer (purged,
+                // see forget): keep the delta until the row shows up or is forgotten
+                if (updated[i] == 0) add((Long) batch.get(i)[2], (Long) batch.get(i)[0]);
+            }
+        } catch (RuntimeException e) {
+            // keep the deltas for the next flush
+            for (Object[] row : batch) add((Long) row[2], (Long) row[0]);
+            e.printStackTrace();
+        } finally {
+            for (Object[] row : batch) {
+                long recipeId = (Long) row[2];
+                long flushed = (Long) row[0];
+                // the cached row now holds the flushed count
+                recipeCache.invalidate(recipeId);
+                flushing.computeIfPresent(recipeId, (id, delta) -> delta == flushed ? null : delta - flushed);
+            }
+        }
+    }
+
+    /** Drops the pending likes of a recipe whose row has been removed. */
+    public void forget(long recipeId) {
+        pending.remove(recipeId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(long recipeId, long delta) {
+        pending.computeIfAbsent(recipeId, id -> new LongAdder()).add(delta);
+    }
+}
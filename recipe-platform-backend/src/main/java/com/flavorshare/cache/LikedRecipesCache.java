@@ -0,0 +1,119 @@
+package com.flavorshare.cache;
+
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.repo.LikeRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Per-user set of liked recipe ids, for answering "which of these cards did I
+ * like" in one lookup. Each set is a sorted int array (4 bytes per like), loaded
+ * with one query on first use and then kept current from like events rather than
+ * reloaded. Caffeine bounds the cache by total size and drops idle users.
+ *
+ * <p>A like or unlike is applied when its event is published and again after its
+ * transaction commits, which covers a load that read the table in between; a
+ * rolled-back change drops the user's set so the next lookup reloads it.
+ */
+@Component
+public class LikedRecipesCache {
+    // rough per-user overhead beyond the id array: key, entry, array header
+    private static final int BASE_WEIGHT = 64;
+
+    private final LikeRepository likeRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final LoadingCache<Long, int[]> cache;
+
+    public LikedRecipesCache(LikeRepository likeRepository, PlatformTransactionManager transactionManager,
+                             @Value("${likes.cache.maximum-weight:8388608}") long maximumWeight,
+                             @Value("${likes.cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.likeRepository = likeRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Long userId, int[] ids) -> BASE_WEIGHT + ids.length * Integer.BYTES)
+            .expireAfterAccess(expireAfterAccess)
+            .build(this::load);
+    }
+
+    /** The ids among {@code recipeIds} that the user likes, in the order given. */
+    public List<Long> likedAmong(Long userId, Collection<Long> recipeIds) {
+        int[] liked = cache.get(userId);
+        List<Long> result = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(recipeIds)) {
+            if (id != null && id > 0 && id <= Integer.MAX_VALUE && Arrays.binarySearch(liked, id.intValue()) >= 0) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    public boolean likes(Long userId, Long recipeId) {
+        return !likedAmong(userId, List.of(recipeId)).isEmpty();
+    }
+
+    @EventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        apply(event);
+    }
+
+    @TransactionalEventListener
+    public void afterLikeCommitted(LikeChangedEvent event) {
+        apply(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void afterLikeRolledBack(LikeChangedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    // Sets are replaced, never modified, so readers need no lock. Only resident sets
+    // are updated; a missing one is loaded with the change already in the table.
+    private void apply(LikeChangedEvent event) {
+        int recipeId = Math.toIntExact(event.getRecipeId());
+        cache.asMap().computeIfPresent(event.getUserId(), (userId, ids) ->
+            event.getDelta() > 0 ? with(ids, recipeId) : without(ids, recipeId));
+    }
+
+    private int[] load(Long userId) {
+        List<Long> ids = readOnlyTx.execute(status -> likeRepository.findRecipeIdsByUserId(userId));
+        int[] sorted = new int[ids.size()];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = Math.toIntExact(ids.get(i));
+        return sorted;
+    }
+
+    private static int[] with(int[] ids, int id) {
+        int i = Arrays.binarySearch(ids, id);
+        if (i >= 0) return ids;
+        i = -i - 1;
+        int[] copy = new int[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, i);
+        copy[i] = id;
+        System.arraycopy(ids, i, copy, i + 1, ids.length - i);
+        return copy;
+    }
+
+    private static int[] without(int[] ids, int id) {
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) return ids;
+        int[] copy = new int[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, i);
+        System.arraycopy(ids, i + 1, copy, i, ids.length - i - 1);
+        return copy;
+    }
+}
@@ -0,0 +1,133 @@
+package com.flavorshare.cache;
+
+import com.flavorshare.dto.CacheMetrics;
+import com.flavorshare.event.ReviewChangedEvent;
+import com.flavorshare.model.Recipe;
+import com.flavorshare.repo.RecipeRepository;
+import com.flavorshare.search.RecipeIndex;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache of full recipes for {@code GET /api/recipes/{id}}. Caffeine
+ * bounds it by estimated size in bytes and evicts with W-TinyLFU, so a few popular
+ * recipes stay resident while one-off reads do not push them out.
+ *
+ * <p>Recipe writes reach it through {@link com.flavorshare.search.RecipeIndexer}
+ * like any other index; review events invalidate it as soon as they are published
+ * and again once their transaction commits, so a reload that raced the write cannot
+ * leave old counters behind. Likes do not touch the row until {@link LikeCounters}
+ * flushes them, which invalidates the flushed recipes; until then readers add the
+ * pending likes to the cached count.
+ */
+@Component
+public class RecipeCache implements RecipeIndex {
+    // rough per-recipe overhead beyond its strings: entity, author, list headers
+    private static final int BASE_WEIGHT = 512;
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final LoadingCache<Long, Recipe> cache;
+
+    public RecipeCache(RecipeRepository recipeRepository, PlatformTransactionManager transactionManager,
+                       @Value("${recipes.cache.maximum-weight:16777216}") long maximumWeight,
+                       @Value("${recipes.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.recipeRepository = recipeRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Long id, Recipe recipe) -> weigh(recipe))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build(this::load);
+    }
+
+    /** The full recipe, from the cache or the database. The returned instance is shared: never modify it. */
+    public Optional<Recipe> get(Long id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    /** The cached recipe if resident, without loading it. */
+    public Optional<Recipe> getIfPresent(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void invalidate(long recipeId) {
+        cache.invalidate(recipeId);
+    }
+
+    @Override
+    public void add(Recipe recipe) {
+        invalidate(recipe.getId());
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        invalidate(recipeId);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onReviewChanged(ReviewChangedEvent event) {
+        invalidate(event.getRecipeId());
+    }
+
+    @TransactionalEventListener
+    public void afterReviewCommitted(ReviewChangedEvent event) {
+        invalidate(event.getRecipeId());
+    }
+
+    public CacheMetrics metrics() {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+        return new CacheMetrics(cache.estimatedSize(), weight, stats.hitCount(), stats.missCount(),
+            stats.hitRate(), stats.evictionCount(), stats.loadSuccessCount(), stats.loadFailureCount(),
+            stats.averageLoadPenalty() / 1_000_000d);
+    }
+
+    // Misses are not cached (null), so a recipe created later is found right away
+    private Recipe load(Long id) {
+        return readOnlyTx.execute(status -> recipeRepository.findDetailById(id)
+            .map(recipe -> {
+                // the cached copy outlives this session: the detail graph brought the author
+                // and ingredients, load the instructions now too
+                Hibernate.initialize(recipe.getInstructions());
+                return recipe;
+            })
+            .orElse(null));
+    }
+
+    private static int weigh(Recipe recipe) {
+        long chars = length(recipe.getTitle()) + length(recipe.getDescription()) + length(recipe.getImage())
+            + length(recipe.getIngredients()) + length(recipe.getInstructions());
+        return (int) Math.min(Integer.MAX_VALUE, BASE_WEIGHT + chars * 2);
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static long length(List<String> values) {
+        if (values == null) return 0;
+        long total = 0;
+        for (String value : values) total += length(value) + 16;
+        return total;
+    }
+}
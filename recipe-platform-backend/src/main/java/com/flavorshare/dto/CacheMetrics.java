@@ -0,0 +1,37 @@
+package com.flavorshare.dto;
+
+/** Point-in-time statistics for an in-process cache. */
+public class CacheMetrics {
+    private final long size;
+    private final long weight;
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+    private final long evictions;
+    private final long loads;
+    private final long loadFailures;
+    private final double averageLoadMillis;
+
+    public CacheMetrics(long size, long weight, long hits, long misses, double hitRatio, long evictions,
+                        long loads, long loadFailures, double averageLoadMillis) {
+        this.size = size;
+        this.weight = weight;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.evictions = evictions;
+        this.loads = loads;
+        this.loadFailures = loadFailures;
+        this.averageLoadMillis = averageLoadMillis;
+    }
+
+    public long getSize() { return size; }
+    public long getWeight() { return weight; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public double getHitRatio() { return hitRatio; }
+    public long getEvictions() { return evictions; }
+    public long getLoads() { return loads; }
+    public long getLoadFailures() { return loadFailures; }
+    public double getAverageLoadMillis() { return averageLoadMillis; }
+}
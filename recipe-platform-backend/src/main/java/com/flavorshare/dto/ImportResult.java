@@ -0,0 +1,50 @@
+package com.flavorshare.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a bulk recipe import: counts plus the first errors, by item position. */
+public class ImportResult {
+    // enough to fix a partner feed without holding an error per row of a huge import
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private int imported;
+    private int rejected;
+    private final List<ItemError> errors = new ArrayList<>();
+    private String aborted;
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void reject(int index, String title, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ItemError(index, title, message));
+    }
+
+    public void abort(String message) {
+        aborted = message;
+    }
+
+    public int getImported() { return imported; }
+    public int getRejected() { return rejected; }
+    public List<ItemError> getErrors() { return errors; }
+    // Set when the body could not be read to the end; items before it were still imported
+    public String getAborted() { return aborted; }
+
+    public static class ItemError {
+        private final int index;
+        private final String title;
+        private final String message;
+
+        public ItemError(int index, String title, String message) {
+            this.index = index;
+            this.title = title;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public String getTitle() { return title; }
+        public String getMessage() { return message; }
+    }
+}
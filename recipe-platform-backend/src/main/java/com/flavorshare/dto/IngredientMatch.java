@@ -0,0 +1,19 @@
+package com.flavorshare.dto;
+
+/** A recipe from a "cook with what I have" query and how well the pantry covers it. */
+public class IngredientMatch {
+    private final RecipeSummary recipe;
+    private final int matchedIngredients;
+    private final int totalIngredients;
+
+    public IngredientMatch(RecipeSummary recipe, int matchedIngredients, int totalIngredients) {
+        this.recipe = recipe;
+        this.matchedIngredients = matchedIngredients;
+        this.totalIngredients = totalIngredients;
+    }
+
+    public RecipeSummary getRecipe() { return recipe; }
+    public int getMatchedIngredients() { return matchedIngredients; }
+    public int getTotalIngredients() { return totalIngredients; }
+    public int getMissingIngredients() { return totalIngredients - matchedIngredients; }
+}
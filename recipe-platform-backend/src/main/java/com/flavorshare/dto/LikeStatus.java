@@ -0,0 +1,18 @@
+package com.flavorshare.dto;
+
+/** Result of a like or unlike: whether the caller now likes the recipe, and its like count. */
+public class LikeStatus {
+    private final String message;
+    private final boolean liked;
+    private final int likeCount;
+
+    public LikeStatus(String message, boolean liked, int likeCount) {
+        this.message = message;
+        this.liked = liked;
+        this.likeCount = likeCount;
+    }
+
+    public String getMessage() { return message; }
+    public boolean isLiked() { return liked; }
+    public int getLikeCount() { return likeCount; }
+}
@@ -0,0 +1,31 @@
+package com.flavorshare.dto;
+
+import com.flavorshare.model.Recipe;
+import com.flavorshare.search.CookTimeRange;
+
+import java.util.Map;
+
+/**
+ * Facet counts for the recipe filter sidebar. Each facet is counted with every
+ * other active filter applied but not its own, so the sidebar shows how many
+ * recipes picking a different value would return.
+ */
+public class RecipeFacets {
+    private final int total;
+    private final Map<Recipe.Category, Integer> categories;
+    private final Map<Recipe.Difficulty, Integer> difficulties;
+    private final Map<CookTimeRange, Integer> cookTimes;
+
+    public RecipeFacets(int total, Map<Recipe.Category, Integer> categories,
+                        Map<Recipe.Difficulty, Integer> difficulties, Map<CookTimeRange, Integer> cookTimes) {
+        this.total = total;
+        this.categories = categories;
+        this.difficulties = difficulties;
+        this.cookTimes = cookTimes;
+    }
+
+    public int getTotal() { return total; }
+    public Map<Recipe.Category, Integer> getCategories() { return categories; }
+    public Map<Recipe.Difficulty, Integer> getDifficulties() { return difficulties; }
+    public Map<CookTimeRange, Integer> getCookTimes() { return cookTimes; }
+}
@@ -0,0 +1,95 @@
+package com.flavorshare.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.flavorshare.model.Recipe;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view shape of a recipe: card fields, author name and counters only.
+ * Built directly by JPQL constructor expressions in RecipeRepository, so list
+ * queries never touch the ingredient, instruction, like or review tables.
+ */
+public class RecipeSummary {
+    // Cards show two lines of text; the full description is on the detail view
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String image;
+    private final Integer cookTime;
+    private final Integer servings;
+    private final Recipe.Difficulty difficulty;
+    private final Recipe.Category category;
+    private final Author author;
+    private int likeCount;
+    private final int reviewCount;
+    private final double averageRating;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private RecipeVersion version;
+
+    public RecipeSummary(Long id, String title, String description, String image,
+                         Integer cookTime, Integer servings,
+                         Recipe.Difficulty difficulty, Recipe.Category category,
+                         Long authorId, String authorUsername, String authorFullName,
+                         Integer likeCount, Integer reviewCount, Long ratingSum,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.image = image;
+        this.cookTime = cookTime;
+        this.servings = servings;
+        this.difficulty = difficulty;
+        this.category = category;
+        this.author = authorId != null ? new Author(authorId, authorUsername, authorFullName) : null;
+        this.likeCount = likeCount != null ? likeCount : 0;
+        this.reviewCount = reviewCount != null ? reviewCount : 0;
+        this.averageRating = this.reviewCount == 0 || ratingSum == null ? 0.0 : (double) ratingSum / this.reviewCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = new RecipeVersion(id, version, likeCount, reviewCount, ratingSum);
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getImage() { return image; }
+    public Integer getCookTime() { return cookTime; }
+    public Integer getServings() { return servings; }
+    public Recipe.Difficulty getDifficulty() { return difficulty; }
+    public Recipe.Category getCategory() { return category; }
+    public Author getAuthor() { return author; }
+    public int getLikeCount() { return likeCount; }
+
+    // For LikeCounters, which adds likes not yet written to the row; the ETag follows
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+        this.version = version.withLikeCount(likeCount);
+    }
+    public int getReviewCount() { return reviewCount; }
+    public double getAverageRating() { return averageRating; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    @JsonIgnore
+    public RecipeVersion getVersion() { return version; }
+
+    public static class Author {
+        private final Long id;
+        private final String username;
+        private final String fullName;
+
+        public Author(Long id, String username, String fullName) {
+            this.id = id;
+            this.username = username;
+            this.fullName = fullName;
+        }
+
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+        public String getFullName() { return fullName; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.flavorshare.dto;
+
+import com.flavorshare.model.Recipe;
+
+/**
+ * Everything that changes a recipe's representation: edits bump the optimistic-lock
+ * version, likes and reviews only move the counters. Small enough to look up without
+ * loading the recipe, and turned into the strong ETag of its responses.
+ */
+public class RecipeVersion {
+    private final Long id;
+    private final long version;
+    private final int likeCount;
+    private final int reviewCount;
+    private final long ratingSum;
+
+    public RecipeVersion(Long id, Long version, Integer likeCount, Integer reviewCount, Long ratingSum) {
+        this.id = id;
+        this.version = version != null ? version : 0;
+        this.likeCount = likeCount != null ? likeCount : 0;
+        this.reviewCount = reviewCount != null ? reviewCount : 0;
+        this.ratingSum = ratingSum != null ? ratingSum : 0;
+    }
+
+    public static RecipeVersion of(Recipe recipe) {
+        return new RecipeVersion(recipe.getId(), recipe.getVersion(), recipe.getLikeCount(),
+            recipe.getReviewCount(), recipe.getRatingSum());
+    }
+
+    /** The same version with a different like count (pending likes added in memory). */
+    public RecipeVersion withLikeCount(int likeCount) {
+        return new RecipeVersion(id, version, likeCount, reviewCount, ratingSum);
+    }
+
+    public Long getId() { return id; }
+    public long getVersion() { return version; }
+    public int getLikeCount() { return likeCount; }
+    public int getReviewCount() { return reviewCount; }
+    public long getRatingSum() { return ratingSum; }
+
+    /** The quoted strong ETag, e.g. {@code "42-v7-3-2-9"}: id, content version, then counters. */
+    public String toETag() {
+        return "\"" + id + "-v" + version + "-" + likeCount + "-" + reviewCount + "-" + ratingSum + "\"";
+    }
+
+    /**
+     * If-Match check for edits. Only the id and content version of each listed tag are
+     * compared: counters move on every like or review and must not fail an edit made
+     * from an otherwise current copy. {@code *} matches; weak tags never do.
+     */
+    public boolean matchedBy(String ifMatch) {
+        if (ifMatch == null) return false;
+        String prefix = "\"" + id + "-v" + version + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+}
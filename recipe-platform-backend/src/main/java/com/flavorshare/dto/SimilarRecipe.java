@@ -0,0 +1,15 @@
+package com.flavorshare.dto;
+
+/** A recipe from a "similar recipes" query and its ingredient overlap with the original. */
+public class SimilarRecipe {
+    private final RecipeSummary recipe;
+    private final float similarity;
+
+    public SimilarRecipe(RecipeSummary recipe, float similarity) {
+        this.recipe = recipe;
+        this.similarity = similarity;
+    }
+
+    public RecipeSummary getRecipe() { return recipe; }
+    public float getSimilarity() { return similarity; }
+}
@@ -0,0 +1,18 @@
+package com.flavorshare.dto;
+
+/** One typeahead entry: enough to show the title and open the recipe. */
+public class TitleSuggestion {
+    private final long id;
+    private final String title;
+    private final int likeCount;
+
+    public TitleSuggestion(long id, String title, int likeCount) {
+        this.id = id;
+        this.title = title;
+        this.likeCount = likeCount;
+    }
+
+    public long getId() { return id; }
+    public String getTitle() { return title; }
+    public int getLikeCount() { return likeCount; }
+}
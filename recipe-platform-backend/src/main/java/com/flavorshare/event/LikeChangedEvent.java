@@ -0,0 +1,18 @@
+package com.flavorshare.event;
+
+/** Published when a user likes (+1) or unlikes (-1) a recipe. */
+public class LikeChangedEvent {
+    private final long recipeId;
+    private final long userId;
+    private final int delta;
+
+    public LikeChangedEvent(long recipeId, long userId, int delta) {
+        this.recipeId = recipeId;
+        this.userId = userId;
+        this.delta = delta;
+    }
+
+    public long getRecipeId() { return recipeId; }
+    public long getUserId() { return userId; }
+    public int getDelta() { return delta; }
+}
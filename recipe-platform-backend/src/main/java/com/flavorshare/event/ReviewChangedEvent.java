@@ -0,0 +1,18 @@
+package com.flavorshare.event;
+
+/** Published when a review is added (count +1) or deleted (count -1), with its rating delta. */
+public class ReviewChangedEvent {
+    private final long recipeId;
+    private final int countDelta;
+    private final int ratingDelta;
+
+    public ReviewChangedEvent(long recipeId, int countDelta, int ratingDelta) {
+        this.recipeId = recipeId;
+        this.countDelta = countDelta;
+        this.ratingDelta = ratingDelta;
+    }
+
+    public long getRecipeId() { return recipeId; }
+    public int getCountDelta() { return countDelta; }
+    public int getRatingDelta() { return ratingDelta; }
+}
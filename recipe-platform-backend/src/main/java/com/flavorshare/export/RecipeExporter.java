@@ -0,0 +1,89 @@
+package com.flavorshare.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flavorshare.model.Recipe;
+import com.flavorshare.repo.RecipeRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole recipe catalog as newline-delimited JSON. Recipes come from a
+ * database cursor and are written and detached {@link #CHUNK_SIZE} at a time, so
+ * memory use does not grow with the catalog.
+ */
+@Component
+public class RecipeExporter {
+    // Recipes held in the persistence context at once. Matches the @BatchSize on
+    // Recipe's collections, so each chunk loads its ingredients and instructions
+    // with one query per collection.
+    public static final int CHUNK_SIZE = RecipeRepository.EXPORT_FETCH_SIZE;
+
+    private final RecipeRepository recipeRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTx;
+
+    public RecipeExporter(RecipeRepository recipeRepository, EntityManager entityManager,
+                          ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.entityManager = entityManager;
+        // one line per recipe; flushed per chunk rather than per value
+        this.writer = objectMapper.writer()
+            .withRootValueSeparator("\n")
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** Streams every recipe to {@code out}, oldest id first, and returns how many were written. */
+    public long export(OutputStream out) throws IOException {
+        try {
+            JsonGenerator json = writer.createGenerator(out);
+            Long written = readOnlyTx.execute(status -> {
+                long count = 0;
+                List<Recipe> chunk = new ArrayList<>(CHUNK_SIZE);
+                try (Stream<Recipe> recipes = recipeRepository.streamAllForExport()) {
+                    Iterator<Recipe> it = recipes.iterator();
+                    while (it.hasNext()) {
+                        chunk.add(it.next());
+                        if (chunk.size() == CHUNK_SIZE) count += writeChunk(json, chunk);
+                    }
+                    count += writeChunk(json, chunk);
+                }
+                return count;
+            });
+            if (written != null && written > 0) json.writeRaw('\n');
+            json.flush();
+            return written != null ? written : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private int writeChunk(JsonGenerator json, List<Recipe> chunk) {
+        int size = chunk.size();
+        try {
+            for (Recipe recipe : chunk) writer.writeValue(json, recipe);
+            json.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // drop the written recipes (and their collections) from the persistence context
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+}
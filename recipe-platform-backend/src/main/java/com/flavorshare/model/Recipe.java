@@ -2,18 +2,49 @@ package com.flavorshare.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "recipes")
+@NamedEntityGraphs({
+    // list views that need entities: the author comes in the same select
+    @NamedEntityGraph(name = Recipe.LIST_GRAPH, attributeNodes = @NamedAttributeNode("author")),
+    // detail view: author and ingredients joined; instructions, a second list that
+    // cannot be join-fetched alongside, follow in one batched select
+    @NamedEntityGraph(name = Recipe.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"), @NamedAttributeNode("ingredients")
+    })
+})
+@Table(name = "recipes", indexes = {
+    // backs keyset pagination of the recipe list (newest first)
+    @Index(name = "idx_recipes_created_id", columnList = "created_at, id"),
+    // backs keyset pagination of one author's recipes (profile pages)
+    @Index(name = "idx_recipes_author_created_id", columnList = "author_id, created_at, id"),
+    // lets RecipePurger find soft-deleted rows without scanning the table
+    @Index(name = "idx_recipes_deleted_at", columnList = "deleted_at")
+})
+// Soft-deleted recipes are left out of every entity load, query and collection
+@SQLRestriction("deleted_at is null")
 public class Recipe {
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String LIST_GRAPH = "Recipe.list";
+    public static final String DETAIL_GRAPH = "Recipe.detail";
+    public static final String LIST_INDEX_COLUMN = "list_index";
+
+    // Pooled sequence: ids are reserved 50 at a time, so inserts can be JDBC-batched
+    // (IDENTITY forces one round-trip per row). See RecipeSequenceInitializer.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "recipes_seq", allocationSize = Recipe.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -24,13 +55,21 @@ public class Recipe {
     @Column(length = 1000)
     private String description;
 
+    // Loaded for up to 100 recipes per query when several are in the session (export).
+    // The order column makes these indexed lists rather than bags, so Hibernate writes
+    // changes per position instead of deleting and reinserting the whole collection.
+    // Rows from before the column existed are numbered by RecipeListIndexInitializer.
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "recipe_ingredients", joinColumns = @JoinColumn(name = "recipe_id"))
+    @OrderColumn(name = Recipe.LIST_INDEX_COLUMN)
     @Column(name = "ingredient")
     private List<String> ingredients;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "recipe_instructions", joinColumns = @JoinColumn(name = "recipe_id"))
+    @OrderColumn(name = Recipe.LIST_INDEX_COLUMN)
     @Column(name = "instruction", length = 2000)
     private List<String> instructions;
 
@@ -48,15 +87,52 @@ public class Recipe {
 
     private String image;
 
-    // CRITICAL FIX: Add hibernateLazyInitializer and handler to prevent serialization errors
-    @ManyToOne(fetch = FetchType.EAGER)  // Changed to EAGER to fix lazy loading issues
+    // Lazy; queries that serialize the author fetch it through LIST_GRAPH/DETAIL_GRAPH
+    // or a join. The proxy's Hibernate fields are excluded from JSON.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     @JsonIgnoreProperties({"recipes", "reviews", "likes", "password", "hibernateLazyInitializer", "handler"})
     private User author;
 
+    // Optimistic lock for edits: bumped by every entity or list change, checked against
+    // If-Match. The counter UPDATEs below don't touch it, so likes never conflict with edits.
+    // The default lets the column be added to a table that already has rows.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private long version;
+
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Set by DELETE, which only hides the recipe; RecipePurger later removes the row
+    // along with its likes, reviews and list rows
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    // Denormalized counters. They are only ever changed by the atomic UPDATEs in
+    // RecipeRepository and LikeCounters (updatable = false keeps entity saves from
+    // overwriting them), so reading a recipe never has to load its likes or reviews.
+    // The default goes in @ColumnDefault, not columnDefinition: Hibernate copies a
+    // columnDefinition into the casts of JPQL arithmetic on the column.
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int likeCount;
+
+    @Column(name = "review_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int reviewCount;
+
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private long ratingSum;
+
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Review> reviews;
@@ -87,20 +163,42 @@ public class Recipe {
         this.author = author;
     }
 
-    // Helper methods for getting counts (safe because collections are JsonIgnored)
-    public double getAverageRating() {
-        if (reviews == null || reviews.isEmpty()) return 0.0;
-        return reviews.stream().mapToInt(Review::getRating).average().orElse(0.0);
-    }
-    
-    public int getReviewCount() { 
-        return reviews != null ? reviews.size() : 0; 
+    // Detached copy showing another like count, for responses that add likes not yet
+    // written to the row (see LikeCounters). Shares the author and lists with this one.
+    public Recipe withLikeCount(int likeCount) {
+        Recipe copy = new Recipe(title, description, author);
+        copy.id = id;
+        copy.ingredients = ingredients;
+        copy.instructions = instructions;
+        copy.cookTime = cookTime;
+        copy.servings = servings;
+        copy.difficulty = difficulty;
+        copy.category = category;
+        copy.image = image;
+        copy.version = version;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.deletedAt = deletedAt;
+        copy.likeCount = likeCount;
+        copy.reviewCount = reviewCount;
+        copy.ratingSum = ratingSum;
+        return copy;
     }
-    
-    public int getLikeCount() { 
-        return likes != null ? likes.size() : 0; 
+
+    // Derived from the denormalized counters, never from the lazy collections
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
     }
 
+    public int getReviewCount() { return reviewCount; }
+    public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
+
+    public int getLikeCount() { return likeCount; }
+    public void setLikeCount(int likeCount) { this.likeCount = likeCount; }
+
+    public long getRatingSum() { return ratingSum; }
+    public void setRatingSum(long ratingSum) { this.ratingSum = ratingSum; }
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -112,10 +210,11 @@ public class Recipe {
     public void setDescription(String description) { this.description = description; }
 
     public List<String> getIngredients() { return ingredients; }
-    public void setIngredients(List<String> ingredients) { this.ingredients = ingredients; }
+    // Lists are copied so they stay mutable: updates edit them in place (see RecipeController)
+    public void setIngredients(List<String> ingredients) { this.ingredients = ingredients != null ? new ArrayList<>(ingredients) : null; }
 
     public List<String> getInstructions() { return instructions; }
-    public void setInstructions(List<String> instructions) { this.instructions = instructions; }
+    public void setInstructions(List<String> instructions) { this.instructions = instructions != null ? new ArrayList<>(instructions) : null; }
 
     public Integer getCookTime() { return cookTime; }
     public void setCookTime(Integer cookTime) { this.cookTime = cookTime; }
@@ -138,9 +237,13 @@ public class Recipe {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public long getVersion() { return version; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+
     public List<Review> getReviews() { return reviews; }
     public void setReviews(List<Review> reviews) { this.reviews = reviews; }
 
@@ -0,0 +1,348 @@
+package com.flavorshare.recommend;
+
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.repo.LikeRepository;
+import com.flavorshare.search.TopK;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item-item co-occurrence over the likes graph for the "for you" feed: two recipes
+ * co-occur once for every user who liked both. A user's feed sums the co-occurrence
+ * rows of their recent likes, cosine-normalized by like counts.
+ *
+ * <p>Everything is indexed by int id in primitive arrays. Memory stays bounded per
+ * entity: a user contributes only their last {@code maxHistory} likes, and each
+ * recipe keeps at most {@code maxNeighbors} co-liked recipes, maintained with the
+ * Space-Saving heavy-hitter scheme so the strongest pairs survive incremental updates.
+ *
+ * <p>The model is rebuilt from the likes table once the application is ready, with
+ * rows computed in parallel on the fork/join pool, and then follows like events.
+ * Events arriving during the rebuild are buffered and replayed on the new model.
+ */
+@Component
+public class CoLikeModel {
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    // recipes per fork/join leaf task when computing rows
+    private static final int ROWS_PER_TASK = 256;
+    private static final int[] EMPTY = new int[0];
+
+    private final LikeRepository likeRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final int maxHistory;
+    private final int maxNeighbors;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // recent liked recipe ids per user, oldest first
+    private int[][] histories = new int[1024][];
+    private Row[] rows = new Row[1024];
+    private int[] likeCounts = new int[1024];
+    // like events seen while a rebuild reads the table; null when not rebuilding
+    private List<LikeChangedEvent> duringRebuild;
+
+    public CoLikeModel(LikeRepository likeRepository, PlatformTransactionManager transactionManager,
+                       @Value("${recommendations.max-history:200}") int maxHistory,
+                       @Value("${recommendations.max-neighbors:100}") int maxNeighbors) {
+        this.likeRepository = likeRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxHistory = maxHistory;
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            duringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int[][] newHistories = new int[1024][];
+        int[] newLikeCounts = new int[1024];
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            final long after = lastId;
+            // (like id, user id, recipe id) in like-id order, so histories end up oldest first
+            List<Object[]> batch = readOnlyTx.execute(status ->
+                likeRepository.findPairsAfter(after, PageRequest.of(0, LOAD_BATCH_SIZE)));
+            if (batch == null || batch.isEmpty()) break;
+            for (Object[] like : batch) {
+                int user = Math.toIntExact((Long) like[1]);
+                int recipe = Math.toIntExact((Long) like[2]);
+                newHistories = grow(newHistories, user);
+                newHistories[user] = appendRecent(newHistories[user], recipe, maxHistory);
+                newLikeCounts = grow(newLikeCounts, recipe);
+                newLikeCounts[recipe]++;
+            }
+            lastId = (Long) batch.get(batch.size() - 1)[0];
+            total += batch.size();
+        }
+
+        Row[] newRows = computeRows(newHistories, newLikeCounts.length);
+        lock.writeLock().lock();
+        try {
+            histories = newHistories;
+            rows = newRows;
+            likeCounts = newLikeCounts;
+            // the scan may or may not have seen these likes; replay applies only the missing ones
+            for (LikeChangedEvent event : duringRebuild) apply(event, true);
+            duringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Built co-like model from " + total + " likes");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // the current model keeps serving until the rebuilt one replaces it
+            if (duringRebuild != null) duringRebuild.add(event);
+            apply(event, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock. A replayed event that the history already reflects
+    // leaves the like count alone too.
+    private void apply(LikeChangedEvent event, boolean replay) {
+        int user = Math.toIntExact(event.getUserId());
+        int recipe = Math.toIntExact(event.getRecipeId());
+        histories = grow(histories, user);
+        rows = grow(rows, recipe);
+        likeCounts = grow(likeCounts, recipe);
+        int[] history = histories[user] != null ? histories[user] : EMPTY;
+        int at = indexOf(history, recipe);
+
+        if (event.getDelta() > 0 && at < 0) {
+            for (int other : history) {
+                row(recipe).increment(other, maxNeighbors);
+                row(other).increment(recipe, maxNeighbors);
+            }
+            // the evicted oldest like keeps its counts; it only stops contributing new pairs
+            histories[user] = appendRecent(history, recipe, maxHistory);
+        } else if (event.getDelta() < 0 && at >= 0) {
+            int[] remaining = new int[history.length - 1];
+            System.arraycopy(history, 0, remaining, 0, at);
+            System.arraycopy(history, at + 1, remaining, at, history.length - at - 1);
+            for (int other : remaining) {
+                row(recipe).decrement(other);
+                if (rows[other] != null) rows[other].decrement(recipe);
+            }
+            histories[user] = remaining;
+        } else if (replay) {
+            return;
+        }
+        likeCounts[recipe] = Math.max(0, likeCounts[recipe] + event.getDelta());
+    }
+
+    /** Up to {@code limit} recipe ids the user has not liked recently, best first. */
+    public long[] recommend(long userId, int limit) {
+        int user = Math.toIntExact(userId);
+        lock.readLock().lock();
+        try {
+            int[] history = user < histories.length && histories[user] != null ? histories[user] : EMPTY;
+            if (history.length == 0) return new long[0];
+            int[] liked = history.clone();
+            Arrays.sort(liked);
+
+            IntFloatMap scores = new IntFloatMap(history.length * 16);
+            for (int recipe : history) {
+                Row row = recipe < rows.length ? rows[recipe] : null;
+                if (row == null) continue;
+                for (int k = 0; k < row.size; k++) {
+                    int candidate = row.ids[k];
+                    if (Arrays.binarySearch(liked, candidate) >= 0) continue;
+                    // cosine: co-likes over the geometric mean of both like counts
+                    float norm = (float) Math.sqrt((double) likes(recipe) * likes(candidate));
+                    if (norm > 0) scores.add(candidate, row.counts[k] / norm);
+                }
+            }
+
+            TopK top = new TopK(limit);
+            scores.forEach(top::offer);
+            return top.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Row row(int recipe) {
+        rows = grow(rows, recipe);
+        if (rows[recipe] == null) rows[recipe] = new Row();
+        return rows[recipe];
+    }
+
+    private int likes(int recipe) {
+        return recipe < likeCounts.length ? likeCounts[recipe] : 0;
+    }
+
+    // Each row is owned by exactly one leaf task, so rows are written without locking
+    private Row[] computeRows(int[][] histories, int recipeCount) {
+        int[][] likers = invert(histories, recipeCount);
+        Row[] computed = new Row[recipeCount];
+        ForkJoinPool.commonPool().invoke(new RowTask(histories, likers, computed, 0, recipeCount));
+        return computed;
+    }
+
+    // recipe id -> ids of users whose history contains it
+    private static int[][] invert(int[][] histories, int recipeCount) {
+        int[] counts = new int[recipeCount];
+        for (int[] history : histories) {
+            if (history != null) for (int recipe : history) counts[recipe]++;
+        }
+        int[][] likers = new int[recipeCount][];
+        for (int r = 0; r < recipeCount; r++) likers[r] = counts[r] == 0 ? EMPTY : new int[counts[r]];
+        Arrays.fill(counts, 0);
+        for (int user = 0; user < histories.length; user++) {
+            if (histories[user] == null) continue;
+            for (int recipe : histories[user]) likers[recipe][counts[recipe]++] = user;
+        }
+        return likers;
+    }
+
+    private final class RowTask extends RecursiveAction {
+        private final int[][] histories;
+        private final int[][] likers;
+        private final Row[] out;
+        private final int from;
+        private final int to;
+
+        RowTask(int[][] histories, int[][] likers, Row[] out, int from, int to) {
+            this.histories = histories;
+            this.likers = likers;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(histories, likers, out, from, mid),
+                          new RowTask(histories, likers, out, mid, to));
+                return;
+            }
+            for (int recipe = from; recipe < to; recipe++) {
+                if (likers[recipe].length == 0) continue;
+                IntFloatMap coLikes = new IntFloatMap(maxNeighbors * 4);
+                for (int user : likers[recipe]) {
+                    for (int other : histories[user]) {
+                        if (other != recipe) coLikes.add(other, 1);
+                    }
+                }
+                if (coLikes.size() == 0) continue;
+                TopK top = new TopK(maxNeighbors);
+                coLikes.forEach(top::offer);
+                top.sort();
+                Row row = new Row();
+                for (int i = 0; i < top.size(); i++) row.append(top.id(i), (int) top.score(i));
+                out[recipe] = row;
+            }
+        }
+    }
+
+    /**
+     * Co-liked recipe ids with their counts, unsorted. When full, a new id replaces
+     * the smallest count and inherits it plus one (Space-Saving), which overestimates
+     * by at most that minimum but never drops a pair more frequent than it.
+     */
+    static final class Row {
+        int[] ids = new int[4];
+        int[] counts = new int[4];
+        int size;
+
+        void increment(int id, int capacity) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    counts[i]++;
+                    return;
+                }
+            }
+            if (size < capacity) {
+                append(id, 1);
+                return;
+            }
+            int min = 0;
+            for (int i = 1; i < size; i++) {
+                if (counts[i] < counts[min]) min = i;
+            }
+            ids[min] = id;
+            counts[min]++;
+        }
+
+        void decrement(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] != id) continue;
+                if (--counts[i] <= 0) {
+                    size--;
+                    ids[i] = ids[size];
+                    counts[i] = counts[size];
+                }
+                return;
+            }
+        }
+
+        void append(int id, int count) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            ids[size] = id;
+            counts[size++] = count;
+        }
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+
+    // Appends, dropping the oldest entry once the history is full
+    private static int[] appendRecent(int[] history, int recipe, int max) {
+        if (history == null) return new int[] {recipe};
+        if (history.length < max) {
+            int[] grown = Arrays.copyOf(history, history.length + 1);
+            grown[history.length] = recipe;
+            return grown;
+        }
+        int[] shifted = new int[max];
+        System.arraycopy(history, history.length - max + 1, shifted, 0, max - 1);
+        shifted[max - 1] = recipe;
+        return shifted;
+    }
+
+    private static int[] grow(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    private static int[][] grow(int[][] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    private static Row[] grow(Row[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+}
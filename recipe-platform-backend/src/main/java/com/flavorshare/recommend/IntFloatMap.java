@@ -0,0 +1,66 @@
+package com.flavorshare.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to float map used to accumulate scores without boxing.
+ * Keys must be non-negative; -1 marks an empty slot.
+ */
+final class IntFloatMap {
+    private static final int EMPTY = -1;
+
+    interface Visitor {
+        void accept(int key, float value);
+    }
+
+    private int[] keys;
+    private float[] values;
+    private int size;
+
+    IntFloatMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void add(int key, float delta) {
+        int slot = slot(keys, key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) resize();
+            slot = slot(keys, key);
+        }
+        values[slot] += delta;
+    }
+
+    int size() { return size; }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) visitor.accept(keys[i], values[i]);
+        }
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new float[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int slot = slot(keys, oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    // Linear probing from a mixed hash; the table is never more than half full
+    private static int slot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 16 & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+}
@@ -1,11 +1,42 @@
 package com.flavorshare.repo;
 
 import com.flavorshare.model.Like;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByUserIdAndRecipeId(Long userId, Long recipeId);
     Optional<Like> findByUserIdAndRecipeId(Long userId, Long recipeId);
-}
\ No newline at end of file
+
+    // Like as one statement: inserts the row unless it exists or the recipe is missing
+    // (or soft-deleted). Returns 1 when a like was added, 0 otherwise. Two concurrent
+    // calls can still meet at the unique constraint; the loser sees a constraint violation.
+    @Modifying
+    @Query("insert into Like (user, recipe) select u, r from User u, Recipe r " +
+           "where u.id = :userId and r.id = :recipeId " +
+           "and not exists (select l.id from Like l where l.user.id = :userId and l.recipe.id = :recipeId)")
+    int insertIfAbsent(@Param("userId") Long userId, @Param("recipeId") Long recipeId);
+
+    // Unlike as one statement; returns 1 when a like was removed, 0 if there was none
+    @Modifying
+    @Query("delete from Like l where l.user.id = :userId and l.recipe.id = :recipeId")
+    int deleteByUserIdAndRecipeId(@Param("userId") Long userId, @Param("recipeId") Long recipeId);
+
+    // Every recipe a user likes, sorted, for LikedRecipesCache
+    @Query("select l.recipe.id from Like l where l.user.id = :userId order by l.recipe.id")
+    List<Long> findRecipeIdsByUserId(@Param("userId") Long userId);
+
+    // (like id, user id, recipe id) rows walked by like id, for rebuilding the co-like model
+    @Query("select l.id, l.user.id, l.recipe.id from Like l where l.id > :after order by l.id")
+    List<Object[]> findPairsAfter(@Param("after") Long after, Pageable pageable);
+
+    // A chunk of one recipe's like ids, for purging a deleted recipe (RecipePurger)
+    @Query("select l.id from Like l where l.recipe.id = :recipeId order by l.id")
+    List<Long> findIdsByRecipeId(@Param("recipeId") Long recipeId, Pageable pageable);
+}
@@ -1,6 +1,176 @@
 package com.flavorshare.repo;
 
+import com.flavorshare.dto.RecipeSummary;
+import com.flavorshare.dto.RecipeVersion;
 import com.flavorshare.model.Recipe;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {}
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+
+  // Shared select for the list-view projection; the description is cut down to a
+  // preview in SQL so full text never leaves the database for card views.
+  String SUMMARY_SELECT =
+      "select new com.flavorshare.dto.RecipeSummary(" +
+      "r.id, r.title, substring(r.description, 1, " + RecipeSummary.DESCRIPTION_PREVIEW_LENGTH + "), " +
+      "r.image, r.cookTime, r.servings, r.difficulty, r.category, " +
+      "a.id, a.username, a.fullName, r.likeCount, r.reviewCount, r.ratingSum, r.createdAt, r.updatedAt, r.version) " +
+      "from Recipe r left join r.author a ";
+
+  // Optional list filters; a null parameter disables its condition
+  String SUMMARY_FILTER =
+      "(:category is null or r.category = :category) " +
+      "and (:difficulty is null or r.difficulty = :difficulty) " +
+      "and (:minCookTime is null or r.cookTime >= :minCookTime) " +
+      "and (:maxCookTime is null or r.cookTime <= :maxCookTime) ";
+
+  // Keyset pagination on (createdAt, id), newest first. Only the Pageable's size is
+  // used; the position comes from the last row of the previous page, not an OFFSET.
+  @Query(SUMMARY_SELECT + "where " + SUMMARY_FILTER + "order by r.createdAt desc, r.id desc")
+  List<RecipeSummary> findSummaryPage(@Param("category") Recipe.Category category,
+                                      @Param("difficulty") Recipe.Difficulty difficulty,
+                                      @Param("minCookTime") Integer minCookTime,
+                                      @Param("maxCookTime") Integer maxCookTime,
+                                      Pageable pageable);
+
+  @Query(SUMMARY_SELECT + "where " + SUMMARY_FILTER +
+         "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) " +
+         "order by r.createdAt desc, r.id desc")
+  List<RecipeSummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                           @Param("category") Recipe.Category category,
+                                           @Param("difficulty") Recipe.Difficulty difficulty,
+                                           @Param("minCookTime") Integer minCookTime,
+                                           @Param("maxCookTime") Integer maxCookTime,
+                                           Pageable pageable);
+
+  // One author's recipes, newest first, keyset-paginated like findSummaryPage. Filters on
+  // the foreign key so idx_recipes_author_created_id serves both the filter and the order.
+  @Query(SUMMARY_SELECT + "where r.author.id = :authorId order by r.createdAt desc, r.id desc")
+  List<RecipeSummary> findSummaryPageByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+  @Query(SUMMARY_SELECT + "where r.author.id = :authorId " +
+         "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) " +
+         "order by r.createdAt desc, r.id desc")
+  List<RecipeSummary> findSummaryPageByAuthorAfter(@Param("authorId") Long authorId,
+                                                   @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                   Pageable pageable);
+
+  @Query(SUMMARY_SELECT + "where r.id in :ids")
+  List<RecipeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Summaries for ids ranked by an in-memory index, kept in that order; ids without
+  // a row (deleted since they were indexed) are skipped
+  default List<RecipeSummary> findSummariesInOrder(long[] ids) {
+    if (ids.length == 0) return List.of();
+    List<Long> idList = new ArrayList<>(ids.length);
+    for (long id : ids) idList.add(id);
+    Map<Long, RecipeSummary> byId = new HashMap<>();
+    for (RecipeSummary summary : findSummariesByIdIn(idList)) byId.put(summary.getId(), summary);
+    List<RecipeSummary> ordered = new ArrayList<>(ids.length);
+    for (Long id : idList) {
+      RecipeSummary summary = byId.get(id);
+      if (summary != null) ordered.add(summary);
+    }
+    return ordered;
+  }
+
+  // Cursor over every recipe for the NDJSON export. The fetch size keeps the driver
+  // from buffering the whole result; read-only skips dirty-checking snapshots.
+  int EXPORT_FETCH_SIZE = 100;
+
+  @QueryHints({
+      @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+      @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select r from Recipe r left join fetch r.author order by r.id")
+  Stream<Recipe> streamAllForExport();
+
+  // Detail view (GET /{id}, update): one select for recipe, author and ingredients
+  @EntityGraph(Recipe.DETAIL_GRAPH)
+  @Query("select r from Recipe r where r.id = :id")
+  Optional<Recipe> findDetailById(@Param("id") Long id);
+
+  // Entity list reads get their authors in the same select instead of one per author
+  @Override
+  @EntityGraph(Recipe.LIST_GRAPH)
+  List<Recipe> findAll();
+
+  // Lightweight version lookup for conditional GETs; no entity or collection is loaded
+  @Query("select new com.flavorshare.dto.RecipeVersion(r.id, r.version, r.likeCount, r.reviewCount, r.ratingSum) " +
+         "from Recipe r where r.id = :id")
+  Optional<RecipeVersion> findVersionById(@Param("id") Long id);
+
+  // Current like count alone, returned by like/unlike; empty when the recipe is missing
+  @Query("select r.likeCount from Recipe r where r.id = :id")
+  Optional<Integer> findLikeCountById(@Param("id") Long id);
+
+  // Batched walk of the table for building the in-memory search indexes. Ids are
+  // paged first so the ingredient fetch join is not combined with a row limit.
+  @Query("select r.id from Recipe r where r.id > :afterId order by r.id")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  @EntityGraph(attributePaths = "ingredients")
+  @Query("select r from Recipe r where r.id in :ids")
+  List<Recipe> findWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Atomic counter maintenance; callers run this in the same transaction as the
+  // review insert or delete. Counts are clamped at zero so a stray delete cannot
+  // drive them negative. Like counts are written behind by LikeCounters.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Recipe r set " +
+         "r.reviewCount = case when r.reviewCount + :countDelta < 0 then 0 else r.reviewCount + :countDelta end, " +
+         "r.ratingSum = case when r.ratingSum + :ratingDelta < 0 then 0 else r.ratingSum + :ratingDelta end " +
+         "where r.id = :id")
+  int adjustReviewTotals(@Param("id") Long id, @Param("countDelta") int countDelta,
+                         @Param("ratingDelta") long ratingDelta);
+
+  // Soft delete (see Recipe#deletedAt). Returns 0 when the recipe is missing or
+  // already deleted.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Recipe r set r.deletedAt = :now where r.id = :id and r.deletedAt is null")
+  int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+  // Purge side of soft delete (RecipePurger). Native SQL: the entity's restriction
+  // hides deleted rows from JPQL.
+  @Query(value = "select id from recipes where deleted_at is not null order by id", nativeQuery = true)
+  List<Long> findSoftDeletedIds(Pageable pageable);
+
+  @Query(value = "select count(*) from recipes where id = :id and deleted_at is not null", nativeQuery = true)
+  long countSoftDeletedById(@Param("id") Long id);
+
+  @Modifying
+  @Query(value = "delete from recipe_ingredients where recipe_id = :id", nativeQuery = true)
+  int purgeIngredients(@Param("id") Long id);
+
+  @Modifying
+  @Query(value = "delete from recipe_instructions where recipe_id = :id", nativeQuery = true)
+  int purgeInstructions(@Param("id") Long id);
+
+  @Modifying
+  @Query(value = "delete from recipes where id = :id and deleted_at is not null", nativeQuery = true)
+  int purgeSoftDeleted(@Param("id") Long id);
+
+  // Rebuilds every counter from the likes and reviews tables
+  @Modifying(clearAutomatically = true)
+  @Query("update Recipe r set " +
+         "r.likeCount = (select count(l) from Like l where l.recipe = r), " +
+         "r.reviewCount = (select count(v) from Review v where v.recipe = r), " +
+         "r.ratingSum = coalesce((select sum(v.rating) from Review v where v.recipe = r), 0)")
+  int recomputeCounters();
+}
@@ -1,6 +1,15 @@
 package com.flavorshare.repo;
 
 import com.flavorshare.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ReviewRepository extends JpaRepository<Review, Long> {}
+import java.util.List;
+
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    // A chunk of one recipe's review ids, for purging a deleted recipe (RecipePurger)
+    @Query("select v.id from Review v where v.recipe.id = :recipeId order by v.id")
+    List<Long> findIdsByRecipeId(@Param("recipeId") Long recipeId, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package com.flavorshare.search;
+
+/**
+ * Fixed cook-time buckets (in minutes, inclusive bounds) used both as a list
+ * filter and as the cook-time facet histogram.
+ */
+public enum CookTimeRange {
+    MAX_15(null, 15),
+    MAX_30(16, 30),
+    MAX_60(31, 60),
+    MAX_120(61, 120),
+    OVER_120(121, null);
+
+    private final Integer min;
+    private final Integer max;
+
+    CookTimeRange(Integer min, Integer max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public Integer getMin() { return min; }
+    public Integer getMax() { return max; }
+
+    /** The bucket for a cook time, or null when the recipe has none. */
+    public static CookTimeRange of(Integer cookTime) {
+        if (cookTime == null) return null;
+        for (CookTimeRange range : values()) {
+            if (range.max == null || cookTime <= range.max) return range;
+        }
+        return OVER_120;
+    }
+}
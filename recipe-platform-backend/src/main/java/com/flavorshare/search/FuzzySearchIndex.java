@@ -0,0 +1,260 @@
+package com.flavorshare.search;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.model.Recipe;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant matching over title and ingredient words. The distinct words are
+ * indexed by their trigrams; a misspelled query word only has its edit distance
+ * computed against words sharing enough trigrams to possibly be within reach.
+ *
+ * <p>Used as the fallback when {@link RecipeSearchIndex} finds nothing, so
+ * "choclate" still finds "Chocolate Chip Cookies" without scanning the table.
+ */
+@Component
+public class FuzzySearchIndex implements RecipeIndex {
+    // Words shorter than this only match exactly; they have too few trigrams to prune on
+    private static final int MIN_FUZZY_LENGTH = 4;
+    // Weight of log(1 + likes) against a similarity in [0, 1]
+    private static final float POPULARITY_WEIGHT = 0.05f;
+
+    private final LikeCounters likeCounters;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private final List<RecipeBitmap> wordDocs = new ArrayList<>();
+    // ids of retired words, handed out again before the lists grow
+    private final Deque<Integer> freeWords = new ArrayDeque<>();
+    private final Map<String, RecipeBitmap> trigramWords = new HashMap<>();
+    private final Map<Integer, int[]> docWords = new HashMap<>();
+    private final Map<Integer, Integer> likes = new HashMap<>();
+
+    public FuzzySearchIndex(LikeCounters likeCounters) {
+        this.likeCounters = likeCounters;
+    }
+
+    // Likes come from the row plus those LikeCounters has not flushed to it yet
+    @Override
+    public void add(Recipe recipe) {
+        int doc = Tokenizer.docId(recipe.getId());
+        int likeCount = likeCounters.likeCount(recipe.getId(), recipe.getLikeCount());
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(recipe.getTitle()));
+        if (recipe.getIngredients() != null) {
+            for (String ingredient : recipe.getIngredients()) {
+                terms.addAll(Tokenizer.tokenize(ingredient));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            int[] ids = new int[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                int word = wordIds.computeIfAbsent(term, this::newWord);
+                wordDocs.get(word).add(doc);
+                ids[i++] = word;
+            }
+            docWords.put(doc, ids);
+            likes.put(doc, likeCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            wordIds.clear();
+            words.clear();
+            wordDocs.clear();
+            freeWords.clear();
+            trigramWords.clear();
+            docWords.clear();
+            likes.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        int doc = Math.toIntExact(event.getRecipeId());
+        lock.writeLock().lock();
+        try {
+            likes.computeIfPresent(doc, (id, count) -> Math.max(0, count + event.getDelta()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} recipe ids ranked by how closely their words match
+     * the query words (averaged over the query), nudged by like count.
+     */
+    public long[] search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty()) return new long[0];
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> totals = new HashMap<>();
+            for (String term : terms) {
+                // best similarity of any matching word, per recipe, for this query word
+                Map<Integer, Float> best = new HashMap<>();
+                for (Map.Entry<Integer, Float> match : matchWords(term).entrySet()) {
+                    float similarity = match.getValue();
+                    wordDocs.get(match.getKey()).forEach(doc -> best.merge(doc, similarity, Math::max));
+                }
+                best.forEach((doc, similarity) -> totals.merge(doc, similarity, Float::sum));
+            }
+
+            TopK top = new TopK(limit);
+            for (Map.Entry<Integer, Float> e : totals.entrySet()) {
+                float similarity = e.getValue() / terms.size();
+                int likeCount = likes.getOrDefault(e.getKey(), 0);
+                top.offer(e.getKey(), similarity + POPULARITY_WEIGHT * (float) Math.log1p(likeCount));
+            }
+            return top.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexed words within edit distance of the term, with similarity 1 - distance / length
+    private Map<Integer, Float> matchWords(String term) {
+        Map<Integer, Float> matches = new HashMap<>();
+        if (term.length() < MIN_FUZZY_LENGTH) {
+            Integer word = wordIds.get(term);
+            if (word != null) matches.put(word, 1f);
+            return matches;
+        }
+
+        int maxEdits = term.length() <= 5 ? 1 : 2;
+        Set<String> termTrigrams = trigrams(term);
+        // trigrams shared with the term, per candidate word
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            RecipeBitmap postings = trigramWords.get(trigram);
+            if (postings == null) continue;
+            postings.forEach(word -> shared.merge(word, 1, Integer::sum));
+        }
+
+        for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+            int word = e.getKey();
+            int count = e.getValue();
+            String candidate = words.get(word);
+            if (Math.abs(candidate.length() - term.length()) > maxEdits) continue;
+            // each edit touches at most three of the term's trigrams; the rest must be shared
+            if (count < termTrigrams.size() - 3 * maxEdits) continue;
+            int longest = Math.max(candidate.length(), term.length());
+            int distance = distance(term, candidate, maxEdits);
+            if (distance <= maxEdits) matches.put(word, 1f - (float) distance / longest);
+        }
+        return matches;
+    }
+
+    private int newWord(String term) {
+        Integer free = freeWords.poll();
+        int word;
+        if (free != null) {
+            // its recipe bitmap was emptied when it was retired
+            word = free;
+            words.set(word, term);
+        } else {
+            word = words.size();
+            words.add(term);
+            wordDocs.add(new RecipeBitmap());
+        }
+        for (String trigram : trigrams(term)) {
+            trigramWords.computeIfAbsent(trigram, t -> new RecipeBitmap()).add(word);
+        }
+        return word;
+    }
+
+    private void removeLocked(int doc) {
+        likes.remove(doc);
+        int[] ids = docWords.remove(doc);
+        if (ids == null) return;
+        for (int word : ids) {
+            RecipeBitmap docs = wordDocs.get(word);
+            docs.remove(doc);
+            if (!docs.isEmpty()) continue;
+            // retire words no recipe uses any more and free their id for the next new word
+            String term = words.set(word, null);
+            wordIds.remove(term);
+            for (String trigram : trigrams(term)) {
+                RecipeBitmap postings = trigramWords.get(trigram);
+                postings.remove(word);
+                if (postings.isEmpty()) trigramWords.remove(trigram);
+            }
+            freeWords.push(word);
+        }
+    }
+
+    // Word slots allocated, live or free
+    int wordSlots() {
+        lock.readLock().lock();
+        try {
+            return words.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Trigrams of the word padded with one space each side, so "egg" gives " eg", "egg", "gg "
+    static Set<String> trigrams(String term) {
+        String padded = " " + term + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Levenshtein distance, giving up with max + 1 once every row exceeds max
+    static int distance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
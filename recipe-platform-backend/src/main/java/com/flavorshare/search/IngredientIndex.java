@@ -0,0 +1,211 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-ingredient {@link RecipeBitmap}s for "cook with what I have" queries.
+ * Each ingredient line is indexed under its normalized name and under its last
+ * word, so "eggs" finds recipes listing "Large eggs". Each line also gets an id of
+ * its own, and every key a bitmap of the lines it appears on. Matching a pantry ORs
+ * the pantry keys' recipe bitmaps into the candidates and their line bitmaps into
+ * the covered lines; a candidate's matched count is then one AND-cardinality of the
+ * covered lines with its own, with no SQL.
+ */
+@Component
+public class IngredientIndex implements RecipeIndex {
+
+    /** A candidate recipe and how many of its ingredient lines the pantry covers. */
+    public static final class Match {
+        private final long recipeId;
+        private final int matched;
+        private final int total;
+
+        Match(long recipeId, int matched, int total) {
+            this.recipeId = recipeId;
+            this.matched = matched;
+            this.total = total;
+        }
+
+        public long getRecipeId() { return recipeId; }
+        public int getMatched() { return matched; }
+        public int getTotal() { return total; }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RecipeBitmap> byIngredient = new HashMap<>();
+    private final Map<String, RecipeBitmap> linesByKey = new HashMap<>();
+    private final Map<Integer, Lines> linesByRecipe = new HashMap<>();
+    // line ids of removed recipes, handed out again before nextLine grows
+    private final Deque<Integer> freeLines = new ArrayDeque<>();
+    private int nextLine;
+
+    @Override
+    public void add(Recipe recipe) {
+        int doc = Tokenizer.docId(recipe.getId());
+        List<String> ingredients = recipe.getIngredients() != null ? recipe.getIngredients() : List.of();
+        List<List<String>> lineKeys = new ArrayList<>(ingredients.size());
+        Set<String> keys = new LinkedHashSet<>();
+        for (String ingredient : ingredients) {
+            List<String> ingredientKeys = keysFor(ingredient);
+            if (!ingredientKeys.isEmpty()) {
+                lineKeys.add(ingredientKeys);
+                keys.addAll(ingredientKeys);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            RecipeBitmap lines = new RecipeBitmap();
+            for (List<String> ingredientKeys : lineKeys) {
+                int line = newLine();
+                lines.add(line);
+                for (String key : ingredientKeys) {
+                    linesByKey.computeIfAbsent(key, k -> new RecipeBitmap()).add(line);
+                }
+            }
+            for (String key : keys) {
+                byIngredient.computeIfAbsent(key, k -> new RecipeBitmap()).add(doc);
+            }
+            linesByRecipe.put(doc, new Lines(keys.toArray(new String[0]), lines, lineKeys.size()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            byIngredient.clear();
+            linesByKey.clear();
+            linesByRecipe.clear();
+            freeLines.clear();
+            nextLine = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks recipes by fewest missing ingredients, then most matched. Recipes
+     * missing more than {@code maxMissing} ingredients are skipped (negative = no cap).
+     */
+    public List<Match> match(List<String> pantry, int maxMissing, int limit) {
+        lock.readLock().lock();
+        try {
+            Set<String> pantryKeys = new HashSet<>();
+            RecipeBitmap candidates = null;
+            RecipeBitmap covered = null;
+            for (String item : pantry) {
+                for (String key : keysFor(item)) {
+                    RecipeBitmap recipes = byIngredient.get(key);
+                    if (!pantryKeys.add(key) || recipes == null) continue;
+                    RecipeBitmap lines = linesByKey.get(key);
+                    candidates = candidates == null ? recipes : RecipeBitmap.or(candidates, recipes);
+                    covered = covered == null ? lines : RecipeBitmap.or(covered, lines);
+                }
+            }
+            if (candidates == null) return List.of();
+
+            // a line counts once however many pantry keys it shares, and one pantry item
+            // covering two lines ("onion" for "Red onion" and "White onion") counts both
+            RecipeBitmap coveredLines = covered;
+            TopK top = new TopK(limit);
+            candidates.forEach(doc -> {
+                Lines lines = linesByRecipe.get(doc);
+                int matched = RecipeBitmap.andCardinality(coveredLines, lines.ids);
+                int missing = lines.total - matched;
+                if (maxMissing >= 0 && missing > maxMissing) return;
+                // fewest missing first, then most matched
+                top.offer(doc, -missing * 1000f + matched);
+            });
+
+            top.sort();
+            List<Match> matches = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                int doc = top.id(i);
+                int total = linesByRecipe.get(doc).total;
+                // score = matched - 1000 * (total - matched), so the count is read back from it
+                int matched = Math.round((top.score(i) + 1000f * total) / 1001f);
+                matches.add(new Match(doc, matched, total));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int newLine() {
+        Integer free = freeLines.poll();
+        return free != null ? free : nextLine++;
+    }
+
+    private void removeLocked(int doc) {
+        Lines lines = linesByRecipe.remove(doc);
+        if (lines == null) return;
+        for (String key : lines.keys) {
+            RecipeBitmap recipes = byIngredient.get(key);
+            recipes.remove(doc);
+            if (recipes.isEmpty()) byIngredient.remove(key);
+            RecipeBitmap keyLines = linesByKey.get(key);
+            lines.ids.forEach(keyLines::remove);
+            if (keyLines.isEmpty()) linesByKey.remove(key);
+        }
+        lines.ids.forEach(freeLines::push);
+    }
+
+    // The full normalized name plus the head noun (last word), both singularized
+    static List<String> keysFor(String ingredient) {
+        String normalized = Tokenizer.normalize(ingredient);
+        if (normalized.isEmpty()) return List.of();
+        String[] words = normalized.split(" ");
+        words[words.length - 1] = singular(words[words.length - 1]);
+        String full = String.join(" ", words);
+        String head = words[words.length - 1];
+        return full.equals(head) ? List.of(full) : List.of(full, head);
+    }
+
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) return word.substring(0, word.length() - 3) + "y";
+        if (word.length() > 4 && word.endsWith("oes")) return word.substring(0, word.length() - 2);
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) return word.substring(0, word.length() - 1);
+        return word;
+    }
+
+    // A recipe's distinct keys, for removal, and the ids of its indexed lines
+    private static final class Lines {
+        final String[] keys;
+        final RecipeBitmap ids;
+        final int total;
+
+        Lines(String[] keys, RecipeBitmap ids, int total) {
+            this.keys = keys;
+            this.ids = ids;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.flavorshare.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of recipe ids in the style of Roaring: ids are split into
+ * 16-bit chunks, each stored as a sorted char array while sparse and as a
+ * 1024-word bitset once it holds more than 4096 values. AND/OR and their
+ * cardinalities work container by container without materializing id lists.
+ *
+ * <p>Not thread-safe; the owning index guards access.
+ */
+public final class RecipeBitmap {
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    public boolean add(int id) {
+        char high = (char) (id >>> 16);
+        int i = indexOf(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, high, new ArrayContainer());
+        }
+        Container container = containers[i];
+        int before = container.cardinality;
+        containers[i] = container.add((char) id);
+        return containers[i].cardinality > before;
+    }
+
+    public boolean remove(int id) {
+        int i = indexOf((char) (id >>> 16));
+        if (i < 0) return false;
+        Container container = containers[i];
+        int before = container.cardinality;
+        containers[i] = container.remove((char) id);
+        boolean removed = containers[i].cardinality < before;
+        if (containers[i].cardinality == 0) removeContainer(i);
+        return removed;
+    }
+
+    public boolean contains(int id) {
+        int i = indexOf((char) (id >>> 16));
+        return i >= 0 && containers[i].contains((char) id);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) total += containers[i].cardinality;
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public RecipeBitmap copy() {
+        RecipeBitmap copy = new RecipeBitmap();
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.containers = new Container[size];
+        for (int i = 0; i < size; i++) copy.containers[i] = containers[i].copy();
+        copy.size = size;
+        return copy;
+    }
+
+    public static RecipeBitmap and(RecipeBitmap a, RecipeBitmap b) {
+        RecipeBitmap result = new RecipeBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container c = a.containers[i].and(b.containers[j]);
+                if (c.cardinality > 0) result.appendContainer(a.keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RecipeBitmap or(RecipeBitmap a, RecipeBitmap b) {
+        RecipeBitmap result = new RecipeBitmap();
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.appendContainer(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || a.keys[i] > b.keys[j]) {
+                result.appendContainer(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /** |a AND b| without building the intersection. */
+    public static int andCardinality(RecipeBitmap a, RecipeBitmap b) {
+        int total = 0;
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                total += a.containers[i].andCardinality(b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainer(int i, char high, Container container) {
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = high;
+        containers[i] = container;
+        size++;
+    }
+
+    private void appendContainer(char high, Container container) {
+        ensureCapacity(size + 1);
+        keys[size] = high;
+        containers[size] = container;
+        size++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int grown = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, grown);
+            containers = Arrays.copyOf(containers, grown);
+        }
+    }
+
+    private abstract static class Container {
+        int cardinality;
+
+        abstract Container add(char low);
+        abstract Container remove(char low);
+        abstract boolean contains(char low);
+        abstract Container and(Container other);
+        abstract Container or(Container other);
+        abstract int andCardinality(Container other);
+        abstract void forEach(int base, IntConsumer action);
+        abstract Container copy();
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) return this;
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] out = new char[Math.min(cardinality, other.cardinality)];
+            int n = 0;
+            if (other instanceof ArrayContainer o) {
+                int i = 0, j = 0;
+                while (i < cardinality && j < o.cardinality) {
+                    if (values[i] < o.values[j]) i++;
+                    else if (values[i] > o.values[j]) j++;
+                    else { out[n++] = values[i]; i++; j++; }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) out[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer o = (ArrayContainer) other;
+            char[] out = new char[cardinality + o.cardinality];
+            int n = 0, i = 0, j = 0;
+            while (i < cardinality || j < o.cardinality) {
+                if (j >= o.cardinality || (i < cardinality && values[i] < o.values[j])) out[n++] = values[i++];
+                else if (i >= cardinality || values[i] > o.values[j]) out[n++] = o.values[j++];
+                else { out[n++] = values[i]; i++; j++; }
+            }
+            ArrayContainer merged = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            int n = 0;
+            if (other instanceof ArrayContainer o) {
+                int i = 0, j = 0;
+                while (i < cardinality && j < o.cardinality) {
+                    if (values[i] < o.values[j]) i++;
+                    else if (values[i] > o.values[j]) j++;
+                    else { n++; i++; j++; }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) n++;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) action.accept(base | values[i]);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) bitmap.set(values[i]);
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+
+        BitmapContainer() {
+            this(new long[1024]);
+        }
+
+        BitmapContainer(long[] words) {
+            this.words = words;
+        }
+
+        void set(char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before | (1L << low);
+            if (before != words[low >>> 6]) cardinality++;
+        }
+
+        @Override
+        Container add(char low) {
+            set(low);
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before & ~(1L << low);
+            if (before != words[low >>> 6]) cardinality--;
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer o = (BitmapContainer) other;
+            BitmapContainer out = new BitmapContainer();
+            for (int k = 0; k < words.length; k++) {
+                out.words[k] = words[k] & o.words[k];
+                out.cardinality += Long.bitCount(out.words[k]);
+            }
+            return out.cardinality <= ARRAY_MAX ? out.toArray() : out;
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer out = new BitmapContainer(words.clone());
+            out.cardinality = cardinality;
+            if (other instanceof ArrayContainer o) {
+                for (int i = 0; i < o.cardinality; i++) out.set(o.values[i]);
+            } else {
+                BitmapContainer o = (BitmapContainer) other;
+                out.cardinality = 0;
+                for (int k = 0; k < words.length; k++) {
+                    out.words[k] |= o.words[k];
+                    out.cardinality += Long.bitCount(out.words[k]);
+                }
+            }
+            return out;
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            BitmapContainer o = (BitmapContainer) other;
+            int n = 0;
+            for (int k = 0; k < words.length; k++) n += Long.bitCount(words[k] & o.words[k]);
+            return n;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int k = 0; k < words.length; k++) {
+                long word = words[k];
+                while (word != 0) {
+                    action.accept(base | (k << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer(words.clone());
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int n = 0;
+            for (int k = 0; k < words.length; k++) {
+                long word = words[k];
+                while (word != 0) {
+                    values[n++] = (char) ((k << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.flavorshare.search;
+
+import com.flavorshare.dto.RecipeFacets;
+import com.flavorshare.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One {@link RecipeBitmap} per category, difficulty and cook-time bucket, so the
+ * filter sidebar's counts are bitmap intersections instead of a GROUP BY per request.
+ */
+@Component
+public class RecipeFacetIndex implements RecipeIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RecipeBitmap all = new RecipeBitmap();
+    private final Map<Recipe.Category, RecipeBitmap> byCategory = bitmaps(Recipe.Category.class);
+    private final Map<Recipe.Difficulty, RecipeBitmap> byDifficulty = bitmaps(Recipe.Difficulty.class);
+    private final Map<CookTimeRange, RecipeBitmap> byCookTime = bitmaps(CookTimeRange.class);
+
+    @Override
+    public void add(Recipe recipe) {
+        int doc = Tokenizer.docId(recipe.getId());
+        CookTimeRange range = CookTimeRange.of(recipe.getCookTime());
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            all.add(doc);
+            if (recipe.getCategory() != null) byCategory.get(recipe.getCategory()).add(doc);
+            if (recipe.getDifficulty() != null) byDifficulty.get(recipe.getDifficulty()).add(doc);
+            if (range != null) byCookTime.get(range).add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            all.copy().forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Counts for every facet value under the given filters; null filters match everything. */
+    public RecipeFacets counts(Recipe.Category category, Recipe.Difficulty difficulty, CookTimeRange cookTime) {
+        lock.readLock().lock();
+        try {
+            RecipeBitmap categoryFilter = category != null ? byCategory.get(category) : all;
+            RecipeBitmap difficultyFilter = difficulty != null ? byDifficulty.get(difficulty) : all;
+            RecipeBitmap cookTimeFilter = cookTime != null ? byCookTime.get(cookTime) : all;
+
+            // each facet is counted against the other two filters only
+            Map<Recipe.Category, Integer> categories =
+                count(byCategory, RecipeBitmap.and(difficultyFilter, cookTimeFilter), Recipe.Category.class);
+            Map<Recipe.Difficulty, Integer> difficulties =
+                count(byDifficulty, RecipeBitmap.and(categoryFilter, cookTimeFilter), Recipe.Difficulty.class);
+            Map<CookTimeRange, Integer> cookTimes =
+                count(byCookTime, RecipeBitmap.and(categoryFilter, difficultyFilter), CookTimeRange.class);
+            int total = RecipeBitmap.andCardinality(
+                RecipeBitmap.and(categoryFilter, difficultyFilter), cookTimeFilter);
+            return new RecipeFacets(total, categories, difficulties, cookTimes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> count(Map<E, RecipeBitmap> facet, RecipeBitmap base,
+                                                             Class<E> type) {
+        Map<E, Integer> counts = new EnumMap<>(type);
+        facet.forEach((value, bitmap) -> counts.put(value, RecipeBitmap.andCardinality(bitmap, base)));
+        return counts;
+    }
+
+    private void removeLocked(int doc) {
+        if (!all.remove(doc)) return;
+        byCategory.values().forEach(bitmap -> bitmap.remove(doc));
+        byDifficulty.values().forEach(bitmap -> bitmap.remove(doc));
+        byCookTime.values().forEach(bitmap -> bitmap.remove(doc));
+    }
+
+    private static <E extends Enum<E>> Map<E, RecipeBitmap> bitmaps(Class<E> type) {
+        Map<E, RecipeBitmap> bitmaps = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) bitmaps.put(value, new RecipeBitmap());
+        return bitmaps;
+    }
+}
@@ -0,0 +1,17 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+
+/**
+ * An in-memory structure derived from recipes. {@link RecipeIndexer} builds every
+ * index at startup and forwards create/update/delete writes to it.
+ */
+public interface RecipeIndex {
+
+    /** Adds the recipe, replacing whatever was indexed for its id before. */
+    void add(Recipe recipe);
+
+    void remove(long recipeId);
+
+    void clear();
+}
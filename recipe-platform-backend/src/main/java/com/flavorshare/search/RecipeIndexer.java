@@ -0,0 +1,111 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import com.flavorshare.repo.RecipeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owns the in-memory recipe indexes: builds them from the database once the
+ * application is ready and applies each recipe write to all of them.
+ *
+ * <p>The rebuild runs while requests are already served, so a batch read before a
+ * concurrent write could overwrite it. Writes made during a rebuild are applied
+ * as usual and also recorded, then replayed in order once the last batch is in.
+ */
+@Component
+public class RecipeIndexer {
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final List<RecipeIndex> indexes;
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate readOnlyTx;
+    // guards duringRebuild; writes hold it so none slips between the replay and its end
+    private final Object rebuildLock = new Object();
+    // writes seen while a rebuild reads the table; null when not rebuilding
+    private List<Runnable> duringRebuild;
+
+    public RecipeIndexer(List<RecipeIndex> indexes, RecipeRepository recipeRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.indexes = indexes;
+        this.recipeRepository = recipeRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // Runs after the CommandLineRunners, so sample data is already loaded
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            duringRebuild = new ArrayList<>();
+        }
+        long lastId = 0;
+        int total = 0;
+        try {
+            indexes.forEach(RecipeIndex::clear);
+            while (true) {
+                final long after = lastId;
+                // one short read-only transaction per batch, walking the table by id
+                List<Long> ids = readOnlyTx.execute(status -> {
+                    List<Long> batch = recipeRepository.findIdsAfter(after, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                    if (!batch.isEmpty()) {
+                        recipeRepository.findWithIngredientsByIdIn(batch).forEach(this::addToAll);
+                    }
+                    return batch;
+                });
+                if (ids == null || ids.isEmpty()) break;
+                lastId = ids.get(ids.size() - 1);
+                total += ids.size();
+            }
+        } finally {
+            synchronized (rebuildLock) {
+                // the batches may have loaded these recipes before the write; the write wins
+                for (Runnable write : duringRebuild) write.run();
+                duringRebuild = null;
+            }
+        }
+        System.out.println("Indexed " + total + " recipes for search");
+    }
+
+    public void index(Recipe recipe) {
+        synchronized (rebuildLock) {
+            if (duringRebuild != null) duringRebuild.add(() -> addToAll(recipe));
+            addToAll(recipe);
+        }
+    }
+
+    public void remove(Long recipeId) {
+        synchronized (rebuildLock) {
+            if (duringRebuild != null) duringRebuild.add(() -> removeFromAll(recipeId));
+            removeFromAll(recipeId);
+        }
+    }
+
+    private void addToAll(Recipe recipe) {
+        for (RecipeIndex index : indexes) {
+            try {
+                index.add(recipe);
+            } catch (RuntimeException e) {
+                // an index falling behind must not fail the write that triggered it
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void removeFromAll(Long recipeId) {
+        for (RecipeIndex index : indexes) {
+            try {
+                index.remove(recipeId);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.flavorshare.search;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.event.ReviewChangedEvent;
+import com.flavorshare.model.Recipe;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trending and top-rated rankings kept in score-ordered skip lists. Like and
+ * review events move one recipe in O(log n); reads walk the head of a list.
+ *
+ * <p>Trending uses forward decay: an event at time t adds
+ * {@code weight * 2^((t - landmark) / halfLife)}, so older scores never need to be
+ * touched again and relative order equals order by exponentially decayed activity.
+ * Top-rated is a Bayesian average {@code (C * m + ratingSum) / (C + reviewCount)},
+ * with the prior C and m fixed by configuration so one review never re-ranks others.
+ */
+@Component
+public class RecipeLeaderboards implements RecipeIndex {
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double REVIEW_WEIGHT = 2.0;
+    // rebase the landmark long before 2^exponent could overflow a double
+    private static final double MAX_EXPONENT = 256;
+
+    private final LikeCounters likeCounters;
+    private final Clock clock;
+    private final double halfLifeMillis;
+    private final double priorWeight;
+    private final double priorMean;
+
+    // updates share the read lock (each entry is synchronized on its own);
+    // rebasing the landmark rescales every score under the write lock
+    private final ReadWriteLock rescaleLock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> trending = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Ranked> topRated = new ConcurrentSkipListSet<>();
+    private volatile long landmarkMillis;
+
+    @Autowired
+    public RecipeLeaderboards(LikeCounters likeCounters,
+                              @Value("${leaderboards.trending.half-life-hours:24}") double halfLifeHours,
+                              @Value("${leaderboards.top-rated.prior-weight:5}") double priorWeight,
+                              @Value("${leaderboards.top-rated.prior-mean:3.5}") double priorMean) {
+        this(likeCounters, halfLifeHours, priorWeight, priorMean, Clock.systemDefaultZone());
+    }
+
+    RecipeLeaderboards(LikeCounters likeCounters, double halfLifeHours, double priorWeight, double priorMean,
+                       Clock clock) {
+        this.likeCounters = likeCounters;
+        this.clock = clock;
+        this.halfLifeMillis = halfLifeHours * 3_600_000d;
+        this.priorWeight = priorWeight;
+        this.priorMean = priorMean;
+        this.landmarkMillis = clock.millis();
+    }
+
+    // Counters come from the recipe row, plus likes LikeCounters has not flushed to it
+    // yet. Likes carry no timestamp, so a recipe seen for the first time is seeded as
+    // if its activity happened when it was created.
+    @Override
+    public void add(Recipe recipe) {
+        long id = recipe.getId();
+        rescaleLock.readLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(id, Entry::new);
+            synchronized (entry) {
+                entry.likeCount = likeCounters.likeCount(id, recipe.getLikeCount());
+                entry.reviewCount = recipe.getReviewCount();
+                entry.ratingSum = recipe.getRatingSum();
+                if (!entry.seeded) {
+                    long createdAt = millis(recipe.getCreatedAt());
+                    entry.trending = (entry.likeCount * LIKE_WEIGHT + entry.reviewCount * REVIEW_WEIGHT)
+                        * decay(createdAt);
+                    entry.seeded = true;
+                }
+                reposition(entry);
+            }
+        } finally {
+            rescaleLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        // held so a rebase cannot reposition, and so re-insert, the entry being removed
+        rescaleLock.readLock().lock();
+        try {
+            Entry entry = entries.remove(recipeId);
+            if (entry == null) return;
+            synchronized (entry) {
+                entry.removed = true;
+                if (entry.trendingKey != null) trending.remove(entry.trendingKey);
+                if (entry.topRatedKey != null) topRated.remove(entry.topRatedKey);
+            }
+        } finally {
+            rescaleLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        rescaleLock.writeLock().lock();
+        try {
+            entries.clear();
+            trending.clear();
+            topRated.clear();
+            landmarkMillis = clock.millis();
+        } finally {
+            rescaleLock.writeLock().unlock();
+        }
+    }
+
+    // Applied after commit so rolled-back likes and reviews never reach the rankings
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        record(event.getRecipeId(), event.getDelta(), 0, 0, LIKE_WEIGHT * event.getDelta());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        record(event.getRecipeId(), 0, event.getCountDelta(), event.getRatingDelta(),
+            REVIEW_WEIGHT * event.getCountDelta());
+    }
+
+    /** Ids of the most active recipes, best first. */
+    public long[] trending(int limit) {
+        return head(trending, limit);
+    }
+
+    /** Ids of the best-rated reviewed recipes, best first. */
+    public long[] topRated(int limit) {
+        return head(topRated, limit);
+    }
+
+    double bayesianAverage(int reviewCount, long ratingSum) {
+        return (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount);
+    }
+
+    private void record(long recipeId, int likeDelta, int reviewDelta, int ratingDelta, double weight) {
+        long now = clock.millis();
+        rebaseIfNeeded(now);
+        rescaleLock.readLock().lock();
+        try {
+            // only recipes the indexer has added; events for deleted recipes are dropped
+            Entry entry = entries.get(recipeId);
+            if (entry == null) return;
+            synchronized (entry) {
+                if (entry.removed) return;
+                entry.likeCount = Math.max(0, entry.likeCount + likeDelta);
+                entry.reviewCount = Math.max(0, entry.reviewCount + reviewDelta);
+                entry.ratingSum = Math.max(0, entry.ratingSum + ratingDelta);
+                // an unlike takes back today's weight, which can exceed what the like added
+                entry.trending = Math.max(0, entry.trending + weight * decay(now));
+                reposition(entry);
+            }
+        } finally {
+            rescaleLock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the entry's monitor
+    private void reposition(Entry entry) {
+        if (entry.trendingKey != null) trending.remove(entry.trendingKey);
+        entry.trendingKey = entry.trending > 0 ? new Ranked(entry.trending, entry.id) : null;
+        if (entry.trendingKey != null) trending.add(entry.trendingKey);
+
+        if (entry.topRatedKey != null) topRated.remove(entry.topRatedKey);
+        entry.topRatedKey = entry.reviewCount > 0
+            ? new Ranked(bayesianAverage(entry.reviewCount, entry.ratingSum), entry.id) : null;
+        if (entry.topRatedKey != null) topRated.add(entry.topRatedKey);
+    }
+
+    private double decay(long millis) {
+        return Math.pow(2, (millis - landmarkMillis) / halfLifeMillis);
+    }
+
+    private void rebaseIfNeeded(long now) {
+        if ((now - landmarkMillis) / halfLifeMillis < MAX_EXPONENT) return;
+        rescaleLock.writeLock().lock();
+        try {
+            if ((now - landmarkMillis) / halfLifeMillis < MAX_EXPONENT) return;
+            double factor = decay(now);
+            landmarkMillis = now;
+            for (Entry entry : entries.values()) {
+                entry.trending /= factor;
+                reposition(entry);
+            }
+        } finally {
+            rescaleLock.writeLock().unlock();
+        }
+    }
+
+    private long millis(LocalDateTime time) {
+        return time != null ? time.atZone(clock.getZone()).toInstant().toEpochMilli() : clock.millis();
+    }
+
+    // The skip list iterates weakly consistently, so a recipe being moved may be
+    // seen at both its old and new position; keep the first.
+    private static long[] head(ConcurrentSkipListSet<Ranked> ranking, int limit) {
+        long[] ids = new long[Math.max(limit, 0)];
+        Set<Long> seen = new HashSet<>();
+        int n = 0;
+        Iterator<Ranked> it = ranking.iterator();
+        while (n < ids.length && it.hasNext()) {
+            long id = it.next().id;
+            if (seen.add(id)) ids[n++] = id;
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
+    private static final class Entry {
+        final long id;
+        int likeCount;
+        int reviewCount;
+        long ratingSum;
+        double trending;
+        boolean seeded;
+        boolean removed;
+        Ranked trendingKey;
+        Ranked topRatedKey;
+
+        Entry(long id) {
+            this.id = id;
+        }
+    }
+
+    // Skip list key: higher score first, then higher (newer) id
+    private static final class Ranked implements Comparable<Ranked> {
+        final double score;
+        final long id;
+
+        Ranked(double score, long id) {
+            this.score = score;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over recipe title, description and ingredients with
+ * BM25 ranking. Posting lists are sorted int arrays of recipe ids, scored
+ * document-at-a-time into a bounded {@link TopK} heap.
+ */
+@Component
+public class RecipeSearchIndex implements RecipeIndex {
+    // BM25 parameters (the usual defaults)
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Field boosts, applied as repeated term occurrences
+    private static final int TITLE_WEIGHT = 3;
+    private static final int INGREDIENT_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    // ids of dropped terms, handed out again before postings grows
+    private final Deque<Integer> freeTerms = new ArrayDeque<>();
+    private final Map<Integer, int[]> docTerms = new HashMap<>();
+    private long totalLength;
+
+    @Override
+    public void add(Recipe recipe) {
+        int doc = Tokenizer.docId(recipe.getId());
+        Map<String, Integer> frequencies = new HashMap<>();
+        count(frequencies, recipe.getTitle(), TITLE_WEIGHT);
+        count(frequencies, recipe.getDescription(), DESCRIPTION_WEIGHT);
+        if (recipe.getIngredients() != null) {
+            for (String ingredient : recipe.getIngredients()) {
+                count(frequencies, ingredient, INGREDIENT_WEIGHT);
+            }
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            int[] terms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+                int term = termIds.computeIfAbsent(e.getKey(), this::newTerm);
+                postings.get(term).put(doc, e.getValue(), length);
+                terms[i++] = term;
+            }
+            docTerms.put(doc, terms);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            postings.clear();
+            freeTerms.clear();
+            docTerms.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns up to {@code limit} recipe ids, best match first. */
+    public long[] search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            int docCount = docTerms.size();
+            if (docCount == 0) return new long[0];
+            float avgLength = (float) totalLength / docCount;
+
+            List<PostingList> lists = new ArrayList<>();
+            for (String term : new LinkedHashSet<>(Tokenizer.tokenize(query))) {
+                Integer id = termIds.get(term);
+                if (id != null) lists.add(postings.get(id));
+            }
+            if (lists.isEmpty()) return new long[0];
+
+            int n = lists.size();
+            float[] idf = new float[n];
+            for (int t = 0; t < n; t++) {
+                int df = lists.get(t).size;
+                idf[t] = (float) Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            // document-at-a-time merge over the sorted posting lists
+            TopK top = new TopK(limit);
+            int[] cursor = new int[n];
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int t = 0; t < n; t++) {
+                    PostingList list = lists.get(t);
+                    if (cursor[t] < list.size && list.docs[cursor[t]] < doc) doc = list.docs[cursor[t]];
+                }
+                if (doc == Integer.MAX_VALUE) break;
+
+                float score = 0;
+                for (int t = 0; t < n; t++) {
+                    PostingList list = lists.get(t);
+                    int p = cursor[t];
+                    if (p < list.size && list.docs[p] == doc) {
+                        float tf = list.freqs[p];
+                        float norm = K1 * (1 - B + B * list.lengths[p] / avgLength);
+                        score += idf[t] * tf * (K1 + 1) / (tf + norm);
+                        cursor[t] = p + 1;
+                    }
+                }
+                top.offer(doc, score);
+            }
+            return top.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int doc) {
+        int[] terms = docTerms.remove(doc);
+        if (terms == null) return;
+        int length = 0;
+        for (int term : terms) {
+            PostingList list = postings.get(term);
+            // every posting of a doc carries the same document length
+            length = list.remove(doc);
+            if (list.size > 0) continue;
+            // drop terms no recipe uses any more and free their id for the next new term
+            termIds.remove(list.term);
+            postings.set(term, null);
+            freeTerms.push(term);
+        }
+        totalLength -= length;
+    }
+
+    private int newTerm(String term) {
+        Integer free = freeTerms.poll();
+        if (free != null) {
+            postings.set(free, new PostingList(term));
+            return free;
+        }
+        postings.add(new PostingList(term));
+        return postings.size() - 1;
+    }
+
+    // Distinct terms indexed
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Posting list slots allocated, live or free
+    int termSlots() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void count(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : Tokenizer.tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /** Sorted doc ids with parallel term-frequency and document-length arrays. */
+    private static final class PostingList {
+        final String term;
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int[] lengths = new int[4];
+        int size;
+
+        PostingList(String term) {
+            this.term = term;
+        }
+
+        void put(int doc, int freq, int length) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) {
+                i = -i - 1;
+                if (size == docs.length) {
+                    int capacity = size * 2;
+                    docs = Arrays.copyOf(docs, capacity);
+                    freqs = Arrays.copyOf(freqs, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                }
+                System.arraycopy(docs, i, docs, i + 1, size - i);
+                System.arraycopy(freqs, i, freqs, i + 1, size - i);
+                System.arraycopy(lengths, i, lengths, i + 1, size - i);
+                size++;
+            }
+            docs[i] = doc;
+            freqs[i] = freq;
+            lengths[i] = length;
+        }
+
+        int remove(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) return 0;
+            int length = lengths[i];
+            System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+            System.arraycopy(freqs, i + 1, freqs, i, size - i - 1);
+            System.arraycopy(lengths, i + 1, lengths, i, size - i - 1);
+            size--;
+            return length;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Similar recipes" by Jaccard similarity of ingredient sets, found through MinHash
+ * signatures and locality-sensitive hashing. A signature is split into {@link #BANDS}
+ * bands of {@link #ROWS} values; recipes sharing any band bucket become candidates,
+ * and only those are compared exactly. A pair at Jaccard J becomes a candidate with
+ * probability 1 - (1 - J^ROWS)^BANDS: about 0.8 at the {@link #MIN_SIMILARITY} cut-off,
+ * 0.98 at 0.3 and over 0.99 from 0.35 up. Pairs near 0.1 still surface about a third
+ * of the time, which only costs an exact comparison before they are dropped.
+ *
+ * <p>Ingredients are keyed as in {@link IngredientIndex}, so "Large eggs" and
+ * "egg" overlap. A signature is only computed when its recipe is (re)indexed.
+ */
+@Component
+public class SimilarRecipeIndex implements RecipeIndex {
+    private static final int BANDS = 40;
+    private static final int ROWS = 2;
+    private static final int SIGNATURE_LENGTH = BANDS * ROWS;
+    // candidates below this exact similarity are dropped
+    private static final float MIN_SIMILARITY = 0.2f;
+    // fixed so signatures are comparable across restarts and nodes
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_F1A7L).longs(SIGNATURE_LENGTH).toArray();
+
+    /** A similar recipe and its exact Jaccard similarity to the query recipe. */
+    public static final class Match {
+        private final long recipeId;
+        private final float similarity;
+
+        Match(long recipeId, float similarity) {
+            this.recipeId = recipeId;
+            this.similarity = similarity;
+        }
+
+        public long getRecipeId() { return recipeId; }
+        public float getSimilarity() { return similarity; }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Long, RecipeBitmap> buckets = new HashMap<>();
+
+    @Override
+    public void add(Recipe recipe) {
+        int doc = Tokenizer.docId(recipe.getId());
+        Set<String> keys = new LinkedHashSet<>();
+        if (recipe.getIngredients() != null) {
+            for (String ingredient : recipe.getIngredients()) {
+                keys.addAll(IngredientIndex.keysFor(ingredient));
+            }
+        }
+        String[] sorted = keys.toArray(new String[0]);
+        Arrays.sort(sorted);
+        Entry entry = new Entry(sorted, sorted.length == 0 ? null : bandKeys(signature(sorted)));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            entries.put(doc, entry);
+            if (entry.bandKeys != null) {
+                for (long key : entry.bandKeys) {
+                    buckets.computeIfAbsent(key, k -> new RecipeBitmap()).add(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long recipeId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(Math.toIntExact(recipeId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} recipes most similar to the given one, most similar first. */
+    public List<Match> similar(long recipeId, int limit) {
+        int doc = Math.toIntExact(recipeId);
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(doc);
+            if (entry == null || entry.bandKeys == null) return List.of();
+
+            RecipeBitmap candidates = new RecipeBitmap();
+            for (long key : entry.bandKeys) {
+                RecipeBitmap bucket = buckets.get(key);
+                if (bucket != null) candidates = RecipeBitmap.or(candidates, bucket);
+            }
+            candidates.remove(doc);
+
+            TopK top = new TopK(limit);
+            candidates.forEach(candidate -> {
+                float similarity = jaccard(entry.keys, entries.get(candidate).keys);
+                if (similarity >= MIN_SIMILARITY) top.offer(candidate, similarity);
+            });
+
+            top.sort();
+            List<Match> matches = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                matches.add(new Match(top.id(i), top.score(i)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int doc) {
+        Entry entry = entries.remove(doc);
+        if (entry == null || entry.bandKeys == null) return;
+        for (long key : entry.bandKeys) {
+            RecipeBitmap bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(doc);
+                if (bucket.isEmpty()) buckets.remove(key);
+            }
+        }
+    }
+
+    // One minimum per seeded hash function over the ingredient keys
+    static int[] signature(String[] keys) {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String key : keys) {
+            long hash = key.hashCode();
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int h = (int) (mix(hash ^ SEEDS[i]) >>> 32);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    // One bucket key per band, salted with the band index so bands never collide
+    private static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = key * 0x9E3779B97F4A7C15L + signature[band * ROWS + row];
+            }
+            keys[band] = mix(key);
+        }
+        return keys;
+    }
+
+    // Exact Jaccard similarity of two sorted key arrays
+    static float jaccard(String[] a, String[] b) {
+        int i = 0, j = 0, shared = 0;
+        while (i < a.length && j < b.length) {
+            int c = a[i].compareTo(b[j]);
+            if (c == 0) {
+                shared++;
+                i++;
+                j++;
+            } else if (c < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - shared;
+        return union == 0 ? 0f : (float) shared / union;
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Entry {
+        final String[] keys;
+        final long[] bandKeys;
+
+        Entry(String[] keys, long[] bandKeys) {
+            this.keys = keys;
+            this.bandKeys = bandKeys;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.flavorshare.search;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.dto.TitleSuggestion;
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.model.Recipe;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Title autocomplete from a character trie over normalized titles. Every node
+ * keeps the ids of the most-liked recipes below it, so a lookup is a walk down
+ * the prefix plus a copy of at most {@link #MAX_SUGGESTIONS} entries.
+ *
+ * <p>Each title is inserted from its start and from every later word, so "carb"
+ * suggests "Creamy Pasta Carbonara". A write or like recomputes the per-node lists
+ * bottom-up along that recipe's paths only, merging children's lists.
+ */
+@Component
+public class TitleSuggestIndex implements RecipeIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    // keys are cut at this depth; longer prefixes are checked against the titles ending there
+    private static final int MAX_DEPTH = 32;
+    private static final int[] NO_DOCS = new int[0];
+
+    private final LikeCounters likeCounters;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private Node root = new Node();
+
+    public TitleSuggestIndex(LikeCounters likeCounters) {
+        this.likeCounters = likeCounters;
+    }
+
+    // Likes come from the row plus those LikeCounters has not flushed to it yet
+    @Override
+    public void add(Recipe recipe) {
+        int doc = Tokenizer.docId(recipe.getId());
+        Doc entry = new Doc(recipe.getTitle(), Tokenizer.normalize(recipe.getTitle()),
+            likeCounters.likeCount(recipe.getId(), recipe.getLikeCount()));
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc);
+            docs.put(doc, entry);
+            for (String key : keys(entry.normalized)) {
+                List<Node> path = new ArrayList<>(key.length() + 1);
+                Node node = root;
+                path.add(node);
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                    path.add(node);
+                }
+                node.terminals = append(node.terminals, doc);
+                recompute(path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            root = new Node();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Popularity follows committed likes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        int doc = Math.toIntExact(event.getRecipeId());
+        lock.writeLock().lock();
+        try {
+            Doc entry = docs.get(doc);
+            if (entry == null) return;
+            entry.likes = Math.max(0, entry.likes + event.getDelta());
+            for (String key : keys(entry.normalized)) {
+                List<Node> path = path(key);
+                if (path != null) recompute(path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} titles matching the prefix at a word start, most liked first. */
+    public List<TitleSuggestion> suggest(String prefix, int limit) {
+        String key = Tokenizer.normalize(prefix);
+        int max = Math.max(0, Math.min(limit, MAX_SUGGESTIONS));
+        if (key.isEmpty() || max == 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < Math.min(key.length(), MAX_DEPTH) && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) return List.of();
+
+            int[] ranked;
+            if (key.length() <= MAX_DEPTH) {
+                ranked = node.top;
+            } else {
+                // past the cut, only titles ending at this node can match; check them in full
+                String needle = " " + key;
+                TopK top = new TopK(max);
+                for (int doc : node.terminals) {
+                    Doc entry = docs.get(doc);
+                    if ((" " + entry.normalized).contains(needle)) top.offer(doc, entry.likes);
+                }
+                top.sort();
+                ranked = new int[top.size()];
+                for (int i = 0; i < ranked.length; i++) ranked[i] = top.id(i);
+            }
+
+            List<TitleSuggestion> suggestions = new ArrayList<>(Math.min(max, ranked.length));
+            for (int i = 0; i < ranked.length && suggestions.size() < max; i++) {
+                Doc entry = docs.get(ranked[i]);
+                suggestions.add(new TitleSuggestion(ranked[i], entry.title, entry.likes));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int doc) {
+        Doc entry = docs.remove(doc);
+        if (entry == null) return;
+        for (String key : keys(entry.normalized)) {
+            List<Node> path = path(key);
+            if (path == null) continue;
+            Node end = path.get(path.size() - 1);
+            end.terminals = without(end.terminals, doc);
+            // prune nodes left with nothing below them
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                if (node.terminals.length > 0 || node.labels.length > 0) break;
+                path.get(i - 1).removeChild(key.charAt(i - 1));
+                path.remove(i);
+            }
+            recompute(path);
+        }
+    }
+
+    // Rebuilds each node's list from its own terminals and its children's lists, deepest first
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            int count = node.terminals.length;
+            for (Node child : node.children) count += child.top.length;
+            int[] candidates = Arrays.copyOf(node.terminals, count);
+            int at = node.terminals.length;
+            for (Node child : node.children) {
+                System.arraycopy(child.top, 0, candidates, at, child.top.length);
+                at += child.top.length;
+            }
+            // one recipe can reach a node through two of its keys
+            Arrays.sort(candidates);
+            TopK top = new TopK(MAX_SUGGESTIONS);
+            for (int j = 0; j < candidates.length; j++) {
+                if (j > 0 && candidates[j] == candidates[j - 1]) continue;
+                // a recipe being removed lingers in lists on its paths not yet recomputed
+                Doc entry = docs.get(candidates[j]);
+                if (entry != null) top.offer(candidates[j], entry.likes);
+            }
+            top.sort();
+            int[] ids = new int[top.size()];
+            for (int j = 0; j < ids.length; j++) ids[j] = top.id(j);
+            node.top = ids;
+        }
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) return null;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // The title from its start and from each later word, cut at MAX_DEPTH
+    private static Set<String> keys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return keys;
+        int start = 0;
+        while (start >= 0) {
+            String key = normalized.substring(start);
+            keys.add(key.length() > MAX_DEPTH ? key.substring(0, MAX_DEPTH) : key);
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+
+    private static int[] append(int[] docs, int doc) {
+        int[] out = Arrays.copyOf(docs, docs.length + 1);
+        out[docs.length] = doc;
+        return out;
+    }
+
+    private static int[] without(int[] docs, int doc) {
+        for (int i = 0; i < docs.length; i++) {
+            if (docs[i] == doc) {
+                int[] out = new int[docs.length - 1];
+                System.arraycopy(docs, 0, out, 0, i);
+                System.arraycopy(docs, i + 1, out, i, docs.length - i - 1);
+                return out;
+            }
+        }
+        return docs;
+    }
+
+    private static final class Doc {
+        final String title;
+        final String normalized;
+        int likes;
+
+        Doc(String title, String normalized, int likes) {
+            this.title = title;
+            this.normalized = normalized;
+            this.likes = likes;
+        }
+    }
+
+    // Children are kept in parallel arrays sorted by label
+    private static final class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        int[] terminals = NO_DOCS;
+        int[] top = NO_DOCS;
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) return children[i];
+            i = -i - 1;
+            Node node = new Node();
+            labels = insert(labels, i, label);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, i);
+            grown[i] = node;
+            System.arraycopy(children, i, grown, i + 1, children.length - i);
+            children = grown;
+            return node;
+        }
+
+        void removeChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i < 0) return;
+            char[] fewerLabels = new char[labels.length - 1];
+            System.arraycopy(labels, 0, fewerLabels, 0, i);
+            System.arraycopy(labels, i + 1, fewerLabels, i, labels.length - i - 1);
+            Node[] fewer = new Node[children.length - 1];
+            System.arraycopy(children, 0, fewer, 0, i);
+            System.arraycopy(children, i + 1, fewer, i, children.length - i - 1);
+            labels = fewerLabels;
+            children = fewer;
+        }
+
+        private static char[] insert(char[] labels, int i, char label) {
+            char[] grown = new char[labels.length + 1];
+            System.arraycopy(labels, 0, grown, 0, i);
+            grown[i] = label;
+            System.arraycopy(labels, i, grown, i + 1, labels.length - i);
+            return grown;
+        }
+    }
+}
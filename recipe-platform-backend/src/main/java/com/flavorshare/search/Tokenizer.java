@@ -0,0 +1,43 @@
+package com.flavorshare.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/** Text normalization shared by the search indexes. */
+public final class Tokenizer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "the", "of", "with", "in", "on", "to", "for", "or", "my", "your");
+
+    private Tokenizer() {}
+
+    /** Lower-cases, strips accents and collapses punctuation/whitespace to single spaces. */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /** Splits into normalized terms, dropping stop words and single characters. */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) return terms;
+        for (String term : normalized.split(" ")) {
+            if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /** Recipe ids are indexed as ints to keep posting lists primitive. */
+    static int docId(Long recipeId) {
+        return Math.toIntExact(recipeId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.flavorshare.search;
+
+/**
+ * Keeps the k highest-scoring ids seen so far in a bounded min-heap backed by
+ * primitive arrays, so ranking never sorts (or boxes) the full candidate set.
+ */
+public final class TopK {
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+    private boolean sorted;
+
+    public TopK(int k) {
+        this.ids = new int[Math.max(k, 0)];
+        this.scores = new float[Math.max(k, 0)];
+    }
+
+    public void offer(int id, float score) {
+        if (ids.length == 0) return;
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    public int size() { return size; }
+
+    /** Orders the retained entries best-first; call once offering is done. */
+    public TopK sort() {
+        if (!sorted) {
+            // heap sort on a min-heap leaves the array in descending score order
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            sorted = true;
+        }
+        return this;
+    }
+
+    public int id(int i) { return ids[i]; }
+    public float score(int i) { return scores[i]; }
+
+    public long[] ids() {
+        sort();
+        long[] out = new long[size];
+        for (int i = 0; i < size; i++) out[i] = ids[i];
+        return out;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= end) break;
+            int smallest = left + 1 < end && less(left + 1, left) ? left + 1 : left;
+            if (!less(smallest, i)) break;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    // ties favour the newer (higher) id
+    private boolean less(int a, int b) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && ids[a] < ids[b]);
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a]; ids[a] = ids[b]; ids[b] = id;
+        float score = scores[a]; scores[a] = scores[b]; scores[b] = score;
+    }
+}
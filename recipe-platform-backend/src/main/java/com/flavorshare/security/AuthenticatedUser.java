@@ -0,0 +1,27 @@
+package com.flavorshare.security;
+
+import java.security.Principal;
+
+/**
+ * The caller of an authenticated request, read from the JWT claims by
+ * {@link JwtAuthFilter}. Controllers take it as a {@link CurrentUser} parameter
+ * rather than parsing the Authorization header again.
+ */
+public final class AuthenticatedUser implements Principal {
+    private final Long userId;
+    private final String username;
+
+    public AuthenticatedUser(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+
+    @Override
+    public String getName() { return username; }
+
+    @Override
+    public String toString() { return username + " (" + userId + ")"; }
+}
@@ -0,0 +1,17 @@
+package com.flavorshare.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds an {@link AuthenticatedUser} controller parameter to the caller
+ * authenticated by {@link JwtAuthFilter}. A request without one is answered with 401.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
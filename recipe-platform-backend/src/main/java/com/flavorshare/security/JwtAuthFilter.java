@@ -1,29 +1,38 @@
 package com.flavorshare.security;
 
-import com.flavorshare.repo.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Authenticates requests carrying a Bearer token. The token is parsed and verified
+ * once, here; the resulting {@link AuthenticatedUser} is the principal that
+ * controllers receive through {@link CurrentUser}. Users named in
+ * {@code admin.usernames} also get {@code ROLE_ADMIN}, which the admin endpoints require.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final List<SimpleGrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final Set<String> adminUsernames;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, @Value("${admin.usernames:}") String[] adminUsernames) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.adminUsernames = Set.copyOf(List.of(adminUsernames));
     }
 
     @Override
@@ -32,28 +41,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        // Extract JWT token from Authorization header
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        // Verify JWT token from Authorization header and set authentication
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.warn("JWT token extraction failed: " + e.getMessage());
-            }
-        }
-
-        // Validate token and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+                // signature, expiry and claims in one parse; the signed claims are
+                // trusted as they are, without loading the user
+                AuthenticatedUser user = jwtUtil.authenticate(authorizationHeader.substring(7));
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        user, null, adminUsernames.contains(user.getUsername()) ? ADMIN : List.of());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+            } catch (Exception e) {
+                logger.warn("JWT token verification failed: " + e.getMessage());
             }
         }
 
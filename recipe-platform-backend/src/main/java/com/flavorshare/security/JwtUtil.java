@@ -1,7 +1,9 @@
 package com.flavorshare.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
@@ -18,6 +20,11 @@ public class JwtUtil {
     // Secret key for signing JWT tokens
     private final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
+    // Parsers are immutable and thread-safe, so one is built for the key and reused
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
     // Token expiration time (24 hours)
     private static final long JWT_TOKEN_VALIDITY = 24 * 60 * 60 * 1000;
 
@@ -39,11 +46,7 @@ public class JwtUtil {
 
     // Extract all claims from token
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     // Check if token is expired
@@ -80,4 +83,14 @@ public class JwtUtil {
         Claims claims = extractAllClaims(token);
         return claims.get("userId", Long.class);
     }
+
+    // Verify token (signature and expiry) and read the caller from it, in a single parse
+    public AuthenticatedUser authenticate(String token) {
+        Claims claims = extractAllClaims(token);
+        Long userId = claims.get("userId", Long.class);
+        if (userId == null || claims.getSubject() == null) {
+            throw new MalformedJwtException("Token has no user");
+        }
+        return new AuthenticatedUser(userId, claims.getSubject());
+    }
 }
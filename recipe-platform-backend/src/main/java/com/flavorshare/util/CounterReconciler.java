@@ -0,0 +1,27 @@
+package com.flavorshare.util;
+
+import com.flavorshare.repo.RecipeRepository;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rebuilds the denormalized like/review counters on recipes from the likes and
+ * reviews tables at startup. This backfills rows created before the counter
+ * columns existed and repairs any drift, so the tables stay the source of truth.
+ */
+@Component
+public class CounterReconciler implements CommandLineRunner {
+  private final RecipeRepository recipeRepository;
+
+  public CounterReconciler(RecipeRepository recipeRepository) {
+    this.recipeRepository = recipeRepository;
+  }
+
+  @Override
+  @Transactional
+  public void run(String... args) {
+    int updated = recipeRepository.recomputeCounters();
+    System.out.println("Recomputed like/review counters for " + updated + " recipes");
+  }
+}
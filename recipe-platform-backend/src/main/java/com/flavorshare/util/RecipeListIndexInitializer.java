@@ -0,0 +1,45 @@
+package com.flavorshare.util;
+
+import com.flavorshare.model.Recipe;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Numbers ingredient and instruction rows written before the lists had an order
+ * column. Schema update adds the column to existing tables without values, and
+ * Hibernate cannot load an indexed list with missing or repeated positions.
+ *
+ * <p>Rows are numbered in insertion order (H2's {@code _ROWID_}), which is the order
+ * the lists were read in before. Only recipes with unnumbered rows are touched.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RecipeListIndexInitializer implements CommandLineRunner {
+  private static final String INDEX = Recipe.LIST_INDEX_COLUMN;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RecipeListIndexInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void run(String... args) {
+    int rows = number("recipe_ingredients") + number("recipe_instructions");
+    if (rows > 0) {
+      System.out.println("Numbered " + rows + " ingredient/instruction rows");
+    }
+  }
+
+  private int number(String table) {
+    return jdbcTemplate.update(
+      "update " + table + " t set " + INDEX + " = (" +
+      "select count(*) from " + table + " o where o.recipe_id = t.recipe_id and o._rowid_ < t._rowid_) " +
+      "where t.recipe_id in (" +
+      "select recipe_id from " + table + " group by recipe_id " +
+      "having count(" + INDEX + ") < count(*) or count(distinct " + INDEX + ") < count(*))");
+  }
+}
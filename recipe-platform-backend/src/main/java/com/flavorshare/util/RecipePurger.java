@@ -0,0 +1,98 @@
+package com.flavorshare.util;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.repo.LikeRepository;
+import com.flavorshare.repo.RecipeRepository;
+import com.flavorshare.repo.ReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Finishes recipe deletes in the background. DELETE only marks a recipe deleted,
+ * which hides it at once; this job then removes its likes and reviews as bulk
+ * DELETEs of at most {@code recipes.purge.chunk-size} rows, each in its own short
+ * transaction, and finally its ingredient/instruction rows and the recipe itself.
+ * No single transaction has to load or lock all the children of a popular recipe.
+ */
+@Component
+public class RecipePurger {
+  // Deleted recipes picked up per run; the rest wait for the next one
+  private static final int RECIPES_PER_RUN = 100;
+
+  private final RecipeRepository recipeRepository;
+  private final LikeRepository likeRepository;
+  private final ReviewRepository reviewRepository;
+  private final LikeCounters likeCounters;
+  private final TransactionTemplate tx;
+  private final int chunkSize;
+
+  public RecipePurger(RecipeRepository recipeRepository, LikeRepository likeRepository,
+                      ReviewRepository reviewRepository, LikeCounters likeCounters,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${recipes.purge.chunk-size:500}") int chunkSize) {
+    this.recipeRepository = recipeRepository;
+    this.likeRepository = likeRepository;
+    this.reviewRepository = reviewRepository;
+    this.likeCounters = likeCounters;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+  }
+
+  @Scheduled(fixedDelayString = "${recipes.purge.interval-ms:60000}")
+  public void purgeDeleted() {
+    List<Long> ids = recipeRepository.findSoftDeletedIds(PageRequest.of(0, RECIPES_PER_RUN));
+    int purged = 0;
+    for (Long id : ids) {
+      try {
+        if (purge(id)) purged++;
+      } catch (RuntimeException e) {
+        // left marked deleted, so the next run retries it
+        e.printStackTrace();
+      }
+    }
+    if (purged > 0) {
+      System.out.println("Purged " + purged + " deleted recipes");
+    }
+  }
+
+  // Removes a soft-deleted recipe and everything that references it. Returns false,
+  // touching nothing, if the recipe is not marked deleted (or is already gone).
+  // A deleted recipe is never restored, so the check cannot go stale.
+  public boolean purge(Long recipeId) {
+    if (recipeRepository.countSoftDeletedById(recipeId) == 0) return false;
+    deleteInChunks(page -> likeRepository.findIdsByRecipeId(recipeId, page), likeRepository::deleteAllByIdInBatch);
+    deleteInChunks(page -> reviewRepository.findIdsByRecipeId(recipeId, page), reviewRepository::deleteAllByIdInBatch);
+    boolean purged = Boolean.TRUE.equals(tx.execute(status -> {
+      // list rows are bounded by the recipe itself, so one statement each
+      recipeRepository.purgeIngredients(recipeId);
+      recipeRepository.purgeInstructions(recipeId);
+      return recipeRepository.purgeSoftDeleted(recipeId) > 0;
+    }));
+    // no row left for unflushed likes to land on
+    if (purged) likeCounters.forget(recipeId);
+    return purged;
+  }
+
+  // Deletes the first chunk of ids and repeats until a chunk comes back short;
+  // deleted rows drop out of the next lookup, so there is no offset to track
+  private void deleteInChunks(Function<Pageable, List<Long>> nextIds, Consumer<List<Long>> delete) {
+    Pageable first = PageRequest.of(0, chunkSize);
+    int deleted;
+    do {
+      deleted = tx.execute(status -> {
+        List<Long> ids = nextIds.apply(first);
+        if (!ids.isEmpty()) delete.accept(ids);
+        return ids.size();
+      });
+    } while (deleted == chunkSize);
+  }
+}
@@ -0,0 +1,76 @@
+package com.flavorshare.util;
+
+import com.flavorshare.model.Recipe;
+
+import java.util.List;
+
+/**
+ * Validation and defaults for recipes written through the API, shared by single
+ * create/update and the bulk import so every path accepts the same recipes.
+ */
+public final class RecipeRules {
+  public static final String DEFAULT_IMAGE =
+    "https://images.unsplash.com/photo-1546554137-f86b9593a222?w=800&q=80&auto=format&fit=crop";
+
+  // Column lengths in Recipe; longer values would fail the insert rather than this check
+  static final int MAX_TITLE = 200;
+  static final int MAX_DESCRIPTION = 1000;
+  static final int MAX_IMAGE = 255;
+  static final int MAX_INGREDIENT = 255;
+  static final int MAX_INSTRUCTION = 2000;
+
+  private RecipeRules() {}
+
+  // Returns the error message for an invalid recipe, or null when it is valid
+  public static String validate(Recipe recipe) {
+    if (recipe.getTitle() == null || recipe.getTitle().trim().isEmpty()) {
+      return "Title is required";
+    }
+    if (recipe.getDescription() == null || recipe.getDescription().trim().isEmpty()) {
+      return "Description is required";
+    }
+    if (recipe.getCookTime() == null || recipe.getCookTime() <= 0) {
+      return "Cook time must be positive";
+    }
+    if (recipe.getServings() == null || recipe.getServings() <= 0) {
+      return "Servings must be positive";
+    }
+    if (recipe.getTitle().length() > MAX_TITLE) {
+      return "Title must be at most " + MAX_TITLE + " characters";
+    }
+    if (recipe.getDescription().length() > MAX_DESCRIPTION) {
+      return "Description must be at most " + MAX_DESCRIPTION + " characters";
+    }
+    if (recipe.getImage() != null && recipe.getImage().length() > MAX_IMAGE) {
+      return "Image URL must be at most " + MAX_IMAGE + " characters";
+    }
+    if (tooLong(recipe.getIngredients(), MAX_INGREDIENT)) {
+      return "Each ingredient must be at most " + MAX_INGREDIENT + " characters";
+    }
+    if (tooLong(recipe.getInstructions(), MAX_INSTRUCTION)) {
+      return "Each instruction must be at most " + MAX_INSTRUCTION + " characters";
+    }
+    return null;
+  }
+
+  private static boolean tooLong(List<String> lines, int max) {
+    if (lines == null) return false;
+    for (String line : lines) {
+      if (line != null && line.length() > max) return true;
+    }
+    return false;
+  }
+
+  // Default image and never-null lists for a new recipe
+  public static void applyDefaults(Recipe recipe) {
+    if (recipe.getImage() == null || recipe.getImage().trim().isEmpty()) {
+      recipe.setImage(DEFAULT_IMAGE);
+    }
+    if (recipe.getIngredients() == null) {
+      recipe.setIngredients(List.of());
+    }
+    if (recipe.getInstructions() == null) {
+      recipe.setInstructions(List.of());
+    }
+  }
+}
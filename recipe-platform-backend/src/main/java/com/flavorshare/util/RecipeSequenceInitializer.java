@@ -0,0 +1,35 @@
+package com.flavorshare.util;
+
+import com.flavorshare.model.Recipe;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the recipe id sequence past the highest existing id before anything else
+ * inserts. Databases created while recipe ids were IDENTITY columns get a fresh
+ * sequence starting at 1, which would collide with their rows.
+ *
+ * <p>Hibernate's pooled optimizer treats each sequence value as the top of a block
+ * of {@link Recipe#ID_ALLOCATION_SIZE} ids, so the sequence restarts at
+ * {@code max(id) + ID_ALLOCATION_SIZE} to make the next block start at {@code max(id) + 1}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RecipeSequenceInitializer implements CommandLineRunner {
+  private final JdbcTemplate jdbcTemplate;
+
+  public RecipeSequenceInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void run(String... args) {
+    Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from recipes", Long.class);
+    if (maxId == null || maxId == 0) return;
+    jdbcTemplate.execute("alter sequence recipes_seq restart with " + (maxId + Recipe.ID_ALLOCATION_SIZE));
+    System.out.println("Recipe id sequence restarted after id " + maxId);
+  }
+}
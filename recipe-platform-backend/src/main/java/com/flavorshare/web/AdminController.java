@@ -0,0 +1,24 @@
+package com.flavorshare.web;
+
+import com.flavorshare.cache.RecipeCache;
+import com.flavorshare.dto.CacheMetrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminController {
+
+    private final RecipeCache recipeCache;
+
+    public AdminController(RecipeCache recipeCache) {
+        this.recipeCache = recipeCache;
+    }
+
+    // Hit ratio, evictions and load times of the single-recipe cache (admins only)
+    @GetMapping("/cache/recipes")
+    public ResponseEntity<CacheMetrics> recipeCacheMetrics() {
+        return ResponseEntity.ok(recipeCache.metrics());
+    }
+}
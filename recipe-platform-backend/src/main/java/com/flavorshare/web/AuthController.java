@@ -5,6 +5,8 @@ import com.flavorshare.dto.LoginRequest;
 import com.flavorshare.dto.SignupRequest;
 import com.flavorshare.model.User;
 import com.flavorshare.repo.UserRepository;
+import com.flavorshare.security.AuthenticatedUser;
+import com.flavorshare.security.CurrentUser;
 import com.flavorshare.security.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -112,13 +114,10 @@ public class AuthController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getCurrentUser(@CurrentUser AuthenticatedUser currentUser) {
         try {
-            String token = authHeader.substring(7); // Remove "Bearer "
-            String username = jwtUtil.extractUsername(token);
-            Long userId = jwtUtil.extractUserId(token);
-
-            Optional<User> userOpt = userRepository.findByUsername(username);
+            // the token was verified by JwtAuthFilter; a missing or invalid one is a 401 already
+            Optional<User> userOpt = userRepository.findByUsername(currentUser.getUsername());
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
             }
@@ -136,7 +135,9 @@ public class AuthController {
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error fetching user: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,46 @@
+package com.flavorshare.web;
+
+import com.flavorshare.dto.RecipeSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Strong ETags for recipe responses and If-None-Match matching
+final class ETags {
+
+    private ETags() {}
+
+    // A page's ETag digests every row's version plus the next-page cursor, so any
+    // edit, like or review on a listed recipe (or a new/deleted one) changes it
+    static String ofPage(List<RecipeSummary> rows, String nextCursor) {
+        MessageDigest digest = sha256();
+        for (RecipeSummary row : rows) {
+            digest.update(row.getVersion().toETag().getBytes(StandardCharsets.UTF_8));
+        }
+        if (nextCursor != null) digest.update(nextCursor.getBytes(StandardCharsets.UTF_8));
+        return "\"p-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    // If-None-Match uses weak comparison: W/ prefixes are ignored and * matches anything
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
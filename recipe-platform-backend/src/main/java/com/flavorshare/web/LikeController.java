@@ -1,16 +1,24 @@
 package com.flavorshare.web;
 
-import com.flavorshare.model.Like;
+import com.flavorshare.bulk.GroupCommitWriter;
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.cache.LikedRecipesCache;
+import com.flavorshare.cache.RecipeCache;
+import com.flavorshare.dto.LikeStatus;
+import com.flavorshare.event.LikeChangedEvent;
 import com.flavorshare.model.Recipe;
-import com.flavorshare.model.User;
 import com.flavorshare.repo.LikeRepository;
 import com.flavorshare.repo.RecipeRepository;
-import com.flavorshare.repo.UserRepository;
-import com.flavorshare.security.JwtUtil;
+import com.flavorshare.security.AuthenticatedUser;
+import com.flavorshare.security.CurrentUser;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -20,103 +28,118 @@ public class LikeController {
 
     private final LikeRepository likeRepository;
     private final RecipeRepository recipeRepository;
-    private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
-
-    public LikeController(LikeRepository likeRepository, RecipeRepository recipeRepository, 
-                         UserRepository userRepository, JwtUtil jwtUtil) {
+    private final RecipeCache recipeCache;
+    private final LikeCounters likeCounters;
+    private final LikedRecipesCache likedRecipes;
+    private final GroupCommitWriter writes;
+    private final ApplicationEventPublisher events;
+
+    public LikeController(LikeRepository likeRepository, RecipeRepository recipeRepository,
+                         RecipeCache recipeCache, LikeCounters likeCounters,
+                         LikedRecipesCache likedRecipes, GroupCommitWriter writes,
+                         ApplicationEventPublisher events) {
         this.likeRepository = likeRepository;
         this.recipeRepository = recipeRepository;
-        this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.recipeCache = recipeCache;
+        this.likeCounters = likeCounters;
+        this.likedRecipes = likedRecipes;
+        this.writes = writes;
+        this.events = events;
     }
 
+    // Idempotent: liking twice (or two racing double-clicks) leaves one like and answers
+    // 200 both times. The like itself is a single insert-if-absent; the user comes from
+    // the verified token and the recipe is never loaded.
     @PostMapping
     public ResponseEntity<?> likeRecipe(
             @PathVariable Long recipeId,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser AuthenticatedUser user) {
+        return writes.execute(status -> like(recipeId, user.getUserId(), status));
+    }
+
+    private ResponseEntity<?> like(Long recipeId, Long userId, TransactionStatus status) {
         try {
-            // Extract user from token
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-
-            // Check if user exists
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
+            boolean added;
+            try {
+                added = likeRepository.insertIfAbsent(userId, recipeId) > 0;
+            } catch (DataIntegrityViolationException e) {
+                // a concurrent request inserted the same like first; roll back our failed
+                // statement and report the state that request left
+                status.setRollbackOnly();
+                added = false;
             }
 
-            // Check if recipe exists
-            Optional<Recipe> recipeOpt = recipeRepository.findById(recipeId);
-            if (recipeOpt.isEmpty()) {
+            // also the existence check: nothing was inserted for a missing recipe
+            Optional<Integer> persisted = persistedLikeCount(recipeId);
+            if (persisted.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
-            User user = userOpt.get();
-            Recipe recipe = recipeOpt.get();
-
-            // Check if already liked
-            if (likeRepository.existsByUserIdAndRecipeId(userId, recipeId)) {
-                return ResponseEntity.badRequest().body("Recipe already liked");
+            // the recipe row is not updated: LikeCounters picks the like up from the event
+            if (added) {
+                events.publishEvent(new LikeChangedEvent(recipeId, userId, 1));
             }
-
-            // Create like
-            Like like = new Like();
-            like.setUser(user);
-            like.setRecipe(recipe);
-            likeRepository.save(like);
-
-            return ResponseEntity.ok().body("Recipe liked successfully");
+            return ResponseEntity.ok(new LikeStatus(added ? "Recipe liked" : "Recipe already liked",
+                true, likeCounters.likeCount(recipeId, persisted.get())));
 
         } catch (Exception e) {
             e.printStackTrace();
+            status.setRollbackOnly();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Error liking recipe: " + e.getMessage());
         }
     }
 
+    // Idempotent as well: unliking a recipe that is not liked is a no-op
     @DeleteMapping
     public ResponseEntity<?> unlikeRecipe(
             @PathVariable Long recipeId,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser AuthenticatedUser user) {
+        return writes.execute(status -> unlike(recipeId, user.getUserId(), status));
+    }
+
+    private ResponseEntity<?> unlike(Long recipeId, Long userId, TransactionStatus status) {
         try {
-            // Extract user from token
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-
-            // Find the like
-            Optional<Like> likeOpt = likeRepository.findByUserIdAndRecipeId(userId, recipeId);
-            if (likeOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body("Recipe not liked");
-            }
+            boolean removed = likeRepository.deleteByUserIdAndRecipeId(userId, recipeId) > 0;
 
-            // Delete like
-            likeRepository.delete(likeOpt.get());
+            Optional<Integer> persisted = persistedLikeCount(recipeId);
+            if (persisted.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
 
-            return ResponseEntity.ok().body("Recipe unliked successfully");
+            if (removed) {
+                events.publishEvent(new LikeChangedEvent(recipeId, userId, -1));
+            }
+            return ResponseEntity.ok(new LikeStatus(removed ? "Recipe unliked" : "Recipe not liked",
+                false, likeCounters.likeCount(recipeId, persisted.get())));
 
         } catch (Exception e) {
             e.printStackTrace();
+            status.setRollbackOnly();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Error unliking recipe: " + e.getMessage());
         }
     }
 
+    // The like count on the recipe row: from the cached recipe when resident, so a like
+    // is a single statement, otherwise one single-column read. Empty if there is no recipe.
+    private Optional<Integer> persistedLikeCount(Long recipeId) {
+        Optional<Recipe> cached = recipeCache.getIfPresent(recipeId);
+        if (cached.isPresent()) return Optional.of(cached.get().getLikeCount());
+        return recipeRepository.findLikeCountById(recipeId);
+    }
+
     @GetMapping
     public ResponseEntity<?> checkIfLiked(
             @PathVariable Long recipeId,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            // Extract user from token
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-
-            boolean liked = likeRepository.existsByUserIdAndRecipeId(userId, recipeId);
+            boolean liked = likedRecipes.likes(user.getUserId(), recipeId);
 
-            return ResponseEntity.ok().body(liked);
+            return ResponseEntity.ok().body(Map.of("liked", liked));
 
         } catch (Exception e) {
-            return ResponseEntity.ok().body(false);
+            return ResponseEntity.ok().body(Map.of("liked", false));
         }
     }
 }
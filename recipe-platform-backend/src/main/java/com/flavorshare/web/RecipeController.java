@@ -1,54 +1,279 @@
 package com.flavorshare.web;
 
+import com.flavorshare.bulk.RecipeImporter;
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.cache.RecipeCache;
+import com.flavorshare.dto.ImportResult;
+import com.flavorshare.dto.IngredientMatch;
+import com.flavorshare.dto.RecipeFacets;
+import com.flavorshare.dto.RecipeSummary;
+import com.flavorshare.dto.RecipeVersion;
+import com.flavorshare.dto.SimilarRecipe;
+import com.flavorshare.export.RecipeExporter;
 import com.flavorshare.model.Recipe;
 import com.flavorshare.model.User;
 import com.flavorshare.repo.RecipeRepository;
 import com.flavorshare.repo.UserRepository;
+import com.flavorshare.search.CookTimeRange;
+import com.flavorshare.search.FuzzySearchIndex;
+import com.flavorshare.search.IngredientIndex;
+import com.flavorshare.search.RecipeFacetIndex;
+import com.flavorshare.search.RecipeIndexer;
+import com.flavorshare.search.RecipeLeaderboards;
+import com.flavorshare.search.RecipeSearchIndex;
+import com.flavorshare.search.SimilarRecipeIndex;
+import com.flavorshare.search.TitleSuggestIndex;
+import com.flavorshare.util.RecipeRules;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/recipes")
 @CrossOrigin(origins = "http://localhost:5173")
 public class RecipeController {
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int MAX_SEARCH_RESULTS = 50;
+  private static final String NDJSON = "application/x-ndjson";
+  private static final String EDIT_CONFLICT = "Recipe was changed by someone else; reload it and retry";
+
   private final RecipeRepository recipeRepo;
   private final UserRepository userRepo;
+  private final RecipeIndexer recipeIndexer;
+  private final RecipeSearchIndex searchIndex;
+  private final FuzzySearchIndex fuzzyIndex;
+  private final SimilarRecipeIndex similarIndex;
+  private final IngredientIndex ingredientIndex;
+  private final RecipeFacetIndex facetIndex;
+  private final RecipeLeaderboards leaderboards;
+  private final RecipeCache recipeCache;
+  private final LikeCounters likeCounters;
+  private final RecipeExporter recipeExporter;
+  private final RecipeImporter recipeImporter;
+  private final TitleSuggestIndex suggestIndex;
   
-  public RecipeController(RecipeRepository recipeRepo, UserRepository userRepo) { 
+  public RecipeController(RecipeRepository recipeRepo, UserRepository userRepo,
+                          RecipeIndexer recipeIndexer, RecipeSearchIndex searchIndex,
+                          IngredientIndex ingredientIndex, RecipeFacetIndex facetIndex,
+                          RecipeLeaderboards leaderboards, RecipeCache recipeCache,
+                          RecipeExporter recipeExporter, RecipeImporter recipeImporter,
+                          TitleSuggestIndex suggestIndex, FuzzySearchIndex fuzzyIndex,
+                          SimilarRecipeIndex similarIndex, LikeCounters likeCounters) { 
     this.recipeRepo = recipeRepo; 
     this.userRepo = userRepo;
+    this.recipeIndexer = recipeIndexer;
+    this.searchIndex = searchIndex;
+    this.ingredientIndex = ingredientIndex;
+    this.facetIndex = facetIndex;
+    this.leaderboards = leaderboards;
+    this.recipeCache = recipeCache;
+    this.recipeExporter = recipeExporter;
+    this.recipeImporter = recipeImporter;
+    this.suggestIndex = suggestIndex;
+    this.fuzzyIndex = fuzzyIndex;
+    this.similarIndex = similarIndex;
+    this.likeCounters = likeCounters;
   }
 
+  // Keyset-paginated listing of RecipeSummary rows: newest first, at most MAX_PAGE_SIZE
+  // per call. The cursor for the following page (if any) is returned in the X-Next-Cursor
+  // header; pass the same filters with it. Full recipes (ingredients, instructions) are
+  // only served by one().
   @GetMapping
-  public List<Recipe> all() { 
-    return recipeRepo.findAll(); 
+  public ResponseEntity<?> all(@RequestParam(required = false) String cursor,
+                               @RequestParam(defaultValue = "20") int size,
+                               @RequestParam(required = false) Recipe.Category category,
+                               @RequestParam(required = false) Recipe.Difficulty difficulty,
+                               @RequestParam(required = false) CookTimeRange cookTime,
+                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    // fetch one extra row to learn whether another page exists
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+    Integer minCookTime = cookTime != null ? cookTime.getMin() : null;
+    Integer maxCookTime = cookTime != null ? cookTime.getMax() : null;
+
+    List<RecipeSummary> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = recipeRepo.findSummaryPage(category, difficulty, minCookTime, maxCookTime, limit);
+    } else {
+      RecipeCursor after = RecipeCursor.decode(cursor);
+      if (after == null) {
+        return ResponseEntity.badRequest().body("Invalid cursor");
+      }
+      rows = recipeRepo.findSummaryPageAfter(after.getCreatedAt(), after.getId(),
+        category, difficulty, minCookTime, maxCookTime, limit);
+    }
+
+    List<RecipeSummary> page = likeCounters.merge(rows.size() <= pageSize ? rows : rows.subList(0, pageSize));
+    String nextCursor = null;
+    if (rows.size() > pageSize) {
+      RecipeSummary last = page.get(pageSize - 1);
+      nextCursor = new RecipeCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+
+    // Conditional GET: an unchanged page is answered 304 without serializing the rows
+    String etag = ETags.ofPage(page, nextCursor);
+    boolean notModified = ETags.matches(ifNoneMatch, etag);
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+      .eTag(etag)
+      .cacheControl(CacheControl.noCache());
+    if (nextCursor != null) response.header(NEXT_CURSOR_HEADER, nextCursor);
+    return notModified ? response.build() : response.body(page);
+  }
+
+  // Facet counts for the filter sidebar, taking the same filters as all(). Served from
+  // in-memory bitmaps so showing counts on every page load costs no SQL aggregate.
+  @GetMapping("/facets")
+  public ResponseEntity<RecipeFacets> facets(@RequestParam(required = false) Recipe.Category category,
+                                             @RequestParam(required = false) Recipe.Difficulty difficulty,
+                                             @RequestParam(required = false) CookTimeRange cookTime) {
+    return ResponseEntity.ok(facetIndex.counts(category, difficulty, cookTime));
+  }
+
+  // Full-text search served from the in-memory BM25 index; only the top hits are
+  // loaded from the database, by primary key. When no term matches exactly (usually a
+  // typo), falls back to trigram matching over titles and ingredients.
+  @GetMapping("/search")
+  public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                  @RequestParam(defaultValue = "10") int limit) {
+    if (q == null || q.isBlank()) {
+      return ResponseEntity.badRequest().body("Query is required");
+    }
+    int max = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+    long[] ids = searchIndex.search(q, max);
+    if (ids.length == 0) {
+      ids = fuzzyIndex.search(q, max);
+    }
+    return ResponseEntity.ok(likeCounters.merge(recipeRepo.findSummariesInOrder(ids)));
   }
 
+  // Typeahead for the search box: titles with a word starting with the prefix, most
+  // liked first. Answered entirely from the in-memory trie, never from the database.
+  @GetMapping("/suggest")
+  public ResponseEntity<?> suggest(@RequestParam(required = false) String prefix,
+                                   @RequestParam(defaultValue = "10") int limit) {
+    if (prefix == null || prefix.isBlank()) {
+      return ResponseEntity.badRequest().body("Prefix is required");
+    }
+    return ResponseEntity.ok(suggestIndex.suggest(prefix, Math.max(1, limit)));
+  }
+
+  // Homepage rankings, maintained incrementally from like/review events in
+  // RecipeLeaderboards; only the winning rows are read from the database.
+  @GetMapping("/trending")
+  public ResponseEntity<List<RecipeSummary>> trending(@RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(likeCounters.merge(recipeRepo.findSummariesInOrder(leaderboards.trending(Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS))))));
+  }
+
+  @GetMapping("/top-rated")
+  public ResponseEntity<List<RecipeSummary>> topRated(@RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(likeCounters.merge(recipeRepo.findSummariesInOrder(leaderboards.topRated(Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS))))));
+  }
+
+  // "Cook with what I have": recipes ranked by how few ingredients are missing from
+  // the given pantry, answered from per-ingredient bitmaps. maxMissing=0 returns only
+  // recipes that can be cooked right away.
+  @GetMapping("/cook-with")
+  public ResponseEntity<?> cookWith(@RequestParam(required = false) List<String> ingredients,
+                                    @RequestParam(defaultValue = "-1") int maxMissing,
+                                    @RequestParam(defaultValue = "20") int limit) {
+    if (ingredients == null || ingredients.stream().allMatch(i -> i == null || i.isBlank())) {
+      return ResponseEntity.badRequest().body("At least one ingredient is required");
+    }
+    List<IngredientIndex.Match> matches =
+      ingredientIndex.match(ingredients, maxMissing, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    Map<Long, RecipeSummary> byId = summariesById(
+      matches.stream().map(IngredientIndex.Match::getRecipeId).collect(Collectors.toList()));
+
+    List<IngredientMatch> results = new ArrayList<>(matches.size());
+    for (IngredientIndex.Match match : matches) {
+      RecipeSummary summary = byId.get(match.getRecipeId());
+      if (summary != null) {
+        results.add(new IngredientMatch(summary, match.getMatched(), match.getTotal()));
+      }
+    }
+    return ResponseEntity.ok(results);
+  }
+
+  // Every recipe as newline-delimited JSON, streamed from a database cursor in constant
+  // memory. For reindexers and analytics; use this instead of paging through all().
+  @GetMapping(value = "/export", produces = NDJSON)
+  public void export(HttpServletResponse response) throws IOException {
+    response.setContentType(NDJSON);
+    response.setCharacterEncoding("UTF-8");
+    recipeExporter.export(response.getOutputStream());
+  }
+
+  // Served through RecipeCache; writes below reach it via recipeIndexer. The ETag is
+  // checked first, from the cached copy or a version-only query, so a 304 never loads
+  // the recipe or its collections.
   @GetMapping("/{id}")
-  public ResponseEntity<Recipe> one(@PathVariable Long id) {
-    return recipeRepo.findById(id)
-      .map(ResponseEntity::ok)
+  public ResponseEntity<Recipe> one(@PathVariable Long id,
+                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      Optional<RecipeVersion> version = recipeCache.getIfPresent(id).map(RecipeVersion::of);
+      if (version.isEmpty()) version = recipeRepo.findVersionById(id);
+      if (version.isEmpty()) return ResponseEntity.notFound().build();
+
+      RecipeVersion current = version.get().withLikeCount(likeCounters.likeCount(id, version.get().getLikeCount()));
+      String etag = current.toETag();
+      if (ETags.matches(ifNoneMatch, etag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+      }
+    }
+    return recipeCache.get(id)
+      .map(this::withPendingLikes)
+      .map(recipe -> ResponseEntity.ok()
+        .eTag(RecipeVersion.of(recipe).toETag())
+        .cacheControl(CacheControl.noCache())
+        .body(recipe))
       .orElse(ResponseEntity.notFound().build());
   }
 
+  // Recipes with the most overlapping ingredients, found through MinHash/LSH buckets in
+  // SimilarRecipeIndex rather than by comparing against every recipe.
+  @GetMapping("/{id}/similar")
+  public ResponseEntity<?> similar(@PathVariable Long id, @RequestParam(defaultValue = "10") int limit) {
+    if (!similarIndex.contains(id)) {
+      return ResponseEntity.notFound().build();
+    }
+    List<SimilarRecipeIndex.Match> matches = similarIndex.similar(id, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    Map<Long, RecipeSummary> byId = summariesById(
+      matches.stream().map(SimilarRecipeIndex.Match::getRecipeId).collect(Collectors.toList()));
+
+    List<SimilarRecipe> results = new ArrayList<>(matches.size());
+    for (SimilarRecipeIndex.Match match : matches) {
+      RecipeSummary summary = byId.get(match.getRecipeId());
+      if (summary != null) {
+        results.add(new SimilarRecipe(summary, match.getSimilarity()));
+      }
+    }
+    return ResponseEntity.ok(results);
+  }
+
   @PostMapping
   public ResponseEntity<?> create(@Valid @RequestBody Recipe recipe) {
     try {
       // Validate required fields
-      if (recipe.getTitle() == null || recipe.getTitle().trim().isEmpty()) {
-        return ResponseEntity.badRequest().body("Title is required");
-      }
-      if (recipe.getDescription() == null || recipe.getDescription().trim().isEmpty()) {
-        return ResponseEntity.badRequest().body("Description is required");
-      }
-      if (recipe.getCookTime() == null || recipe.getCookTime() <= 0) {
-        return ResponseEntity.badRequest().body("Cook time must be positive");
-      }
-      if (recipe.getServings() == null || recipe.getServings() <= 0) {
-        return ResponseEntity.badRequest().body("Servings must be positive");
+      String error = RecipeRules.validate(recipe);
+      if (error != null) {
+        return ResponseEntity.badRequest().body(error);
       }
 
       // Set author if provided
@@ -61,20 +286,11 @@ public class RecipeController {
         }
       }
 
-      // Set default image if none provided
-      if (recipe.getImage() == null || recipe.getImage().trim().isEmpty()) {
-        recipe.setImage("https://images.unsplash.com/photo-1546554137-f86b9593a222?w=800&q=80&auto=format&fit=crop");
-      }
-
-      // Ensure lists are not null
-      if (recipe.getIngredients() == null) {
-        recipe.setIngredients(List.of());
-      }
-      if (recipe.getInstructions() == null) {
-        recipe.setInstructions(List.of());
-      }
+      // Default image, non-null lists
+      RecipeRules.applyDefaults(recipe);
 
       Recipe savedRecipe = recipeRepo.save(recipe);
+      recipeIndexer.index(savedRecipe);
       return ResponseEntity.status(HttpStatus.CREATED).body(savedRecipe);
     } catch (Exception e) {
       e.printStackTrace(); // Log the full error
@@ -83,42 +299,64 @@ public class RecipeController {
     }
   }
 
+  // Bulk import for partner catalogs: a JSON array or NDJSON body, read item by item and
+  // committed in JDBC-batched chunks. Items failing create()'s rules are reported by
+  // position; the rest are imported.
+  @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+  public ResponseEntity<?> importRecipes(InputStream body) {
+    try {
+      ImportResult result = recipeImporter.importRecipes(body);
+      if (result.getAborted() != null) {
+        return ResponseEntity.badRequest().body(result);
+      }
+      return ResponseEntity.ok(result);
+    } catch (Exception e) {
+      e.printStackTrace();
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body("Error importing recipes: " + e.getMessage());
+    }
+  }
+
+  // Edits are conditional: If-Match must carry the ETag the client last saw (see editConflict)
   @PutMapping("/{id}")
-  public ResponseEntity<?> update(@PathVariable Long id, @RequestBody Recipe updatedRecipe) {
+  public ResponseEntity<?> update(@PathVariable Long id, @RequestBody Recipe updatedRecipe,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     try {
-      // Find existing recipe
-      Optional<Recipe> existingRecipeOpt = recipeRepo.findById(id);
+      if (ifMatch == null || ifMatch.isBlank()) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match header is required");
+      }
+
+      // Find existing recipe (with author and lists, which the response serializes)
+      Optional<Recipe> existingRecipeOpt = recipeRepo.findDetailById(id);
       if (existingRecipeOpt.isEmpty()) {
         return ResponseEntity.notFound().build();
       }
 
       Recipe existingRecipe = existingRecipeOpt.get();
+      ResponseEntity<?> conflict = editConflict(existingRecipe, ifMatch);
+      if (conflict != null) {
+        return conflict;
+      }
 
       // ===== VALIDATION =====
-      if (updatedRecipe.getTitle() == null || updatedRecipe.getTitle().trim().isEmpty()) {
-        return ResponseEntity.badRequest().body("Title is required");
-      }
-      if (updatedRecipe.getDescription() == null || updatedRecipe.getDescription().trim().isEmpty()) {
-        return ResponseEntity.badRequest().body("Description is required");
-      }
-      if (updatedRecipe.getCookTime() == null || updatedRecipe.getCookTime() <= 0) {
-        return ResponseEntity.badRequest().body("Cook time must be positive");
-      }
-      if (updatedRecipe.getServings() == null || updatedRecipe.getServings() <= 0) {
-        return ResponseEntity.badRequest().body("Servings must be positive");
+      String error = RecipeRules.validate(updatedRecipe);
+      if (error != null) {
+        return ResponseEntity.badRequest().body(error);
       }
 
       // ===== UPDATE FIELDS =====
       existingRecipe.setTitle(updatedRecipe.getTitle().trim());
       existingRecipe.setDescription(updatedRecipe.getDescription().trim());
 
-      // Ensure lists are never null
-      existingRecipe.setIngredients(
-        updatedRecipe.getIngredients() != null ? updatedRecipe.getIngredients() : List.of()
-      );
-      existingRecipe.setInstructions(
-        updatedRecipe.getInstructions() != null ? updatedRecipe.getInstructions() : List.of()
-      );
+      // Ensure lists are never null; applied as per-position diffs
+      boolean listsChanged = applyList(existingRecipe.getIngredients(),
+        updatedRecipe.getIngredients() != null ? updatedRecipe.getIngredients() : List.of());
+      listsChanged |= applyList(existingRecipe.getInstructions(),
+        updatedRecipe.getInstructions() != null ? updatedRecipe.getInstructions() : List.of());
+      if (listsChanged) {
+        // list rows alone don't make the recipe row dirty; bump it so ETags change
+        existingRecipe.setUpdatedAt(LocalDateTime.now());
+      }
 
       existingRecipe.setCookTime(updatedRecipe.getCookTime());
       existingRecipe.setServings(updatedRecipe.getServings());
@@ -139,8 +377,13 @@ public class RecipeController {
       // Don't change author on update - keep original
       // (Frontend shouldn't send author in update anyway)
 
-      Recipe savedRecipe = recipeRepo.save(existingRecipe);
-      return ResponseEntity.ok(savedRecipe);
+      // flushed here so a concurrent edit fails now and the new version is in the ETag
+      Recipe savedRecipe = recipeRepo.saveAndFlush(existingRecipe);
+      recipeIndexer.index(savedRecipe);
+      Recipe body = withPendingLikes(savedRecipe);
+      return ResponseEntity.ok().eTag(RecipeVersion.of(body).toETag()).body(body);
+    } catch (ObjectOptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(EDIT_CONFLICT);
     } catch (Exception e) {
       e.printStackTrace(); // Log full error
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -148,13 +391,88 @@ public class RecipeController {
     }
   }
 
+  // Partial update: only the fields present in the body are applied. Lists sent are
+  // diffed against the stored ones, so fixing one ingredient is a single-row UPDATE and
+  // a title-only patch never touches the ingredient or instruction tables.
+  @PatchMapping("/{id}")
+  public ResponseEntity<?> patch(@PathVariable Long id, @RequestBody Recipe patch,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    try {
+      if (ifMatch == null || ifMatch.isBlank()) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match header is required");
+      }
+
+      Optional<Recipe> existingRecipeOpt = recipeRepo.findDetailById(id);
+      if (existingRecipeOpt.isEmpty()) {
+        return ResponseEntity.notFound().build();
+      }
+
+      Recipe existingRecipe = existingRecipeOpt.get();
+      ResponseEntity<?> conflict = editConflict(existingRecipe, ifMatch);
+      if (conflict != null) {
+        return conflict;
+      }
+
+      // ===== VALIDATION (of the patched result, before touching the entity) =====
+      Recipe merged = new Recipe();
+      merged.setTitle(patch.getTitle() != null ? patch.getTitle() : existingRecipe.getTitle());
+      merged.setDescription(patch.getDescription() != null ? patch.getDescription() : existingRecipe.getDescription());
+      merged.setCookTime(patch.getCookTime() != null ? patch.getCookTime() : existingRecipe.getCookTime());
+      merged.setServings(patch.getServings() != null ? patch.getServings() : existingRecipe.getServings());
+      merged.setImage(patch.getImage() != null && !patch.getImage().trim().isEmpty()
+        ? patch.getImage().trim() : existingRecipe.getImage());
+      merged.setIngredients(patch.getIngredients() != null ? patch.getIngredients() : existingRecipe.getIngredients());
+      merged.setInstructions(patch.getInstructions() != null ? patch.getInstructions() : existingRecipe.getInstructions());
+      String error = RecipeRules.validate(merged);
+      if (error != null) {
+        return ResponseEntity.badRequest().body(error);
+      }
+
+      // ===== UPDATE FIELDS =====
+      if (patch.getTitle() != null) existingRecipe.setTitle(patch.getTitle().trim());
+      if (patch.getDescription() != null) existingRecipe.setDescription(patch.getDescription().trim());
+      if (patch.getCookTime() != null) existingRecipe.setCookTime(patch.getCookTime());
+      if (patch.getServings() != null) existingRecipe.setServings(patch.getServings());
+      if (patch.getDifficulty() != null) existingRecipe.setDifficulty(patch.getDifficulty());
+      if (patch.getCategory() != null) existingRecipe.setCategory(patch.getCategory());
+      if (patch.getImage() != null && !patch.getImage().trim().isEmpty()) {
+        existingRecipe.setImage(patch.getImage().trim());
+      }
+
+      boolean listsChanged = false;
+      if (patch.getIngredients() != null) {
+        listsChanged |= applyList(existingRecipe.getIngredients(), patch.getIngredients());
+      }
+      if (patch.getInstructions() != null) {
+        listsChanged |= applyList(existingRecipe.getInstructions(), patch.getInstructions());
+      }
+      if (listsChanged) {
+        existingRecipe.setUpdatedAt(LocalDateTime.now());
+      }
+
+      Recipe savedRecipe = recipeRepo.saveAndFlush(existingRecipe);
+      recipeIndexer.index(savedRecipe);
+      Recipe body = withPendingLikes(savedRecipe);
+      return ResponseEntity.ok().eTag(RecipeVersion.of(body).toETag()).body(body);
+    } catch (ObjectOptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(EDIT_CONFLICT);
+    } catch (Exception e) {
+      e.printStackTrace();
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body("Error updating recipe: " + e.getMessage());
+    }
+  }
+
   @DeleteMapping("/{id}")
+  @Transactional
   public ResponseEntity<?> delete(@PathVariable Long id) {
     try {
-      if (!recipeRepo.existsById(id)) {
+      // Soft delete: one UPDATE hides the recipe everywhere. Its likes, reviews and list
+      // rows are removed in small batches by RecipePurger rather than cascaded here.
+      if (recipeRepo.softDelete(id, LocalDateTime.now()) == 0) {
         return ResponseEntity.notFound().build();
       }
-      recipeRepo.deleteById(id);
+      recipeIndexer.remove(id);
       return ResponseEntity.noContent().build();
     } catch (Exception e) {
       e.printStackTrace();
@@ -162,4 +480,49 @@ public class RecipeController {
         .body("Error deleting recipe: " + e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  // Recipe responses count likes not yet flushed to the row; the cached or managed
+  // instance is left as it is
+  private Recipe withPendingLikes(Recipe recipe) {
+    int likeCount = likeCounters.likeCount(recipe.getId(), recipe.getLikeCount());
+    return likeCount == recipe.getLikeCount() ? recipe : recipe.withLikeCount(likeCount);
+  }
+
+  // Optimistic concurrency for edits: 412 with the current ETag when If-Match names an
+  // older version. Two edits passing this check at once are still caught by the @Version
+  // column when the second one flushes.
+  private static ResponseEntity<?> editConflict(Recipe current, String ifMatch) {
+    RecipeVersion version = RecipeVersion.of(current);
+    if (version.matchedBy(ifMatch)) return null;
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(version.toETag()).body(EDIT_CONFLICT);
+  }
+
+  // Brings a loaded list to the target content in place. With the order column Hibernate
+  // flushes this per position: changed positions are UPDATEs and only the tail is
+  // inserted or deleted. Replacing the list instead deletes and reinserts every row.
+  private static boolean applyList(List<String> current, List<String> target) {
+    boolean changed = false;
+    int common = Math.min(current.size(), target.size());
+    for (int i = 0; i < common; i++) {
+      if (!Objects.equals(current.get(i), target.get(i))) {
+        current.set(i, target.get(i));
+        changed = true;
+      }
+    }
+    if (target.size() > common) {
+      current.addAll(target.subList(common, target.size()));
+      changed = true;
+    }
+    while (current.size() > target.size()) {
+      current.remove(current.size() - 1);
+      changed = true;
+    }
+    return changed;
+  }
+
+  private Map<Long, RecipeSummary> summariesById(Collection<Long> ids) {
+    if (ids.isEmpty()) return Map.of();
+    return likeCounters.merge(recipeRepo.findSummariesByIdIn(ids)).stream()
+      .collect(Collectors.toMap(RecipeSummary::getId, Function.identity()));
+  }
+}
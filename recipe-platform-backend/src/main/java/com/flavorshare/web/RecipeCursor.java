@@ -0,0 +1,40 @@
+package com.flavorshare.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for recipe listings: the (createdAt, id) of the last row
+ * on a page, base64url-encoded so clients treat it as a token.
+ */
+final class RecipeCursor {
+  private final LocalDateTime createdAt;
+  private final Long id;
+
+  RecipeCursor(LocalDateTime createdAt, Long id) {
+    this.createdAt = createdAt;
+    this.id = id;
+  }
+
+  LocalDateTime getCreatedAt() { return createdAt; }
+  Long getId() { return id; }
+
+  String encode() {
+    String raw = createdAt + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Returns null when the token is missing or malformed. */
+  static RecipeCursor decode(String token) {
+    if (token == null || token.isBlank()) return null;
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      if (sep < 0) return null;
+      return new RecipeCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
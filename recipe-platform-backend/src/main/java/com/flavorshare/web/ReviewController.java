@@ -1,16 +1,21 @@
 package com.flavorshare.web;
 
+import com.flavorshare.bulk.GroupCommitWriter;
 import com.flavorshare.dto.ReviewRequest;
+import com.flavorshare.event.ReviewChangedEvent;
 import com.flavorshare.model.Recipe;
 import com.flavorshare.model.Review;
 import com.flavorshare.model.User;
 import com.flavorshare.repo.RecipeRepository;
 import com.flavorshare.repo.ReviewRepository;
 import com.flavorshare.repo.UserRepository;
-import com.flavorshare.security.JwtUtil;
+import com.flavorshare.security.AuthenticatedUser;
+import com.flavorshare.security.CurrentUser;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,14 +29,17 @@ public class ReviewController {
     private final ReviewRepository reviewRepository;
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final GroupCommitWriter writes;
+    private final ApplicationEventPublisher events;
 
     public ReviewController(ReviewRepository reviewRepository, RecipeRepository recipeRepository,
-                           UserRepository userRepository, JwtUtil jwtUtil) {
+                           UserRepository userRepository, GroupCommitWriter writes,
+                           ApplicationEventPublisher events) {
         this.reviewRepository = reviewRepository;
         this.recipeRepository = recipeRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.writes = writes;
+        this.events = events;
     }
 
     @GetMapping
@@ -58,12 +66,13 @@ public class ReviewController {
     public ResponseEntity<?> addReview(
             @PathVariable Long recipeId,
             @Valid @RequestBody ReviewRequest request,
-            @RequestHeader("Authorization") String authHeader) {
-        try {
-            // Extract user from token
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            @CurrentUser AuthenticatedUser user) {
+        return writes.execute(status -> addReview(recipeId, request, user.getUserId(), status));
+    }
 
+    private ResponseEntity<?> addReview(Long recipeId, ReviewRequest request, Long userId,
+                                        TransactionStatus status) {
+        try {
             // Check if user exists
             Optional<User> userOpt = userRepository.findById(userId);
             if (userOpt.isEmpty()) {
@@ -87,11 +96,14 @@ public class ReviewController {
             review.setRecipe(recipe);
 
             review = reviewRepository.save(review);
+            recipeRepository.adjustReviewTotals(recipeId, 1, review.getRating());
+            events.publishEvent(new ReviewChangedEvent(recipeId, 1, review.getRating()));
 
             return ResponseEntity.status(HttpStatus.CREATED).body(review);
 
         } catch (Exception e) {
             e.printStackTrace();
+            status.setRollbackOnly();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Error adding review: " + e.getMessage());
         }
@@ -101,12 +113,12 @@ public class ReviewController {
     public ResponseEntity<?> deleteReview(
             @PathVariable Long recipeId,
             @PathVariable Long reviewId,
-            @RequestHeader("Authorization") String authHeader) {
-        try {
-            // Extract user from token
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
+            @CurrentUser AuthenticatedUser user) {
+        return writes.execute(status -> deleteReview(reviewId, user.getUserId(), status));
+    }
 
+    private ResponseEntity<?> deleteReview(Long reviewId, Long userId, TransactionStatus status) {
+        try {
             // Find review
             Optional<Review> reviewOpt = reviewRepository.findById(reviewId);
             if (reviewOpt.isEmpty()) {
@@ -121,11 +133,14 @@ public class ReviewController {
             }
 
             reviewRepository.delete(review);
+            recipeRepository.adjustReviewTotals(review.getRecipe().getId(), -1, -review.getRating());
+            events.publishEvent(new ReviewChangedEvent(review.getRecipe().getId(), -1, -review.getRating()));
 
             return ResponseEntity.noContent().build();
 
         } catch (Exception e) {
             e.printStackTrace();
+            status.setRollbackOnly();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Error deleting review: " + e.getMessage());
         }
@@ -1,7 +1,16 @@
 package com.flavorshare.web;
 
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.cache.LikedRecipesCache;
+import com.flavorshare.dto.RecipeSummary;
 import com.flavorshare.model.User;
+import com.flavorshare.recommend.CoLikeModel;
+import com.flavorshare.repo.RecipeRepository;
 import com.flavorshare.repo.UserRepository;
+import com.flavorshare.search.RecipeLeaderboards;
+import com.flavorshare.security.AuthenticatedUser;
+import com.flavorshare.security.CurrentUser;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -10,8 +19,27 @@ import java.util.List;
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "http://localhost:5173")
 public class UserController {
+  private static final int MAX_FEED_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int MAX_LIKED_LOOKUP = 200;
+
   private final UserRepository repo;
-  public UserController(UserRepository repo) { this.repo = repo; }
+  private final RecipeRepository recipeRepo;
+  private final CoLikeModel coLikes;
+  private final RecipeLeaderboards leaderboards;
+  private final LikedRecipesCache likedRecipes;
+  private final LikeCounters likeCounters;
+
+  public UserController(UserRepository repo, RecipeRepository recipeRepo, CoLikeModel coLikes,
+                        RecipeLeaderboards leaderboards, LikedRecipesCache likedRecipes,
+                        LikeCounters likeCounters) {
+    this.repo = repo;
+    this.recipeRepo = recipeRepo;
+    this.coLikes = coLikes;
+    this.leaderboards = leaderboards;
+    this.likedRecipes = likedRecipes;
+    this.likeCounters = likeCounters;
+  }
 
   @GetMapping public List<User> all() { return repo.findAll(); }
 
@@ -19,4 +47,61 @@ public class UserController {
   public ResponseEntity<User> one(@PathVariable Long id) {
     return repo.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
   }
+
+  // One author's recipes for profile pages, newest first, keyset-paginated like
+  // GET /api/recipes (next cursor in X-Next-Cursor). Reads RecipeSummary rows straight
+  // from the recipes table; the user's recipes collection is never loaded.
+  @GetMapping("/{id}/recipes")
+  public ResponseEntity<?> recipes(@PathVariable Long id,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "20") int size) {
+    if (!repo.existsById(id)) {
+      return ResponseEntity.notFound().build();
+    }
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    // fetch one extra row to learn whether another page exists
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+    List<RecipeSummary> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = recipeRepo.findSummaryPageByAuthor(id, limit);
+    } else {
+      RecipeCursor after = RecipeCursor.decode(cursor);
+      if (after == null) {
+        return ResponseEntity.badRequest().body("Invalid cursor");
+      }
+      rows = recipeRepo.findSummaryPageByAuthorAfter(id, after.getCreatedAt(), after.getId(), limit);
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (rows.size() > pageSize) {
+      rows = rows.subList(0, pageSize);
+      RecipeSummary last = rows.get(pageSize - 1);
+      response.header(RecipeController.NEXT_CURSOR_HEADER, new RecipeCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+    return response.body(likeCounters.merge(rows));
+  }
+
+  // "For you": recipes often liked by people who liked what the caller recently liked,
+  // ranked in memory by CoLikeModel. Users without likes get the trending list instead.
+  @GetMapping("/me/feed")
+  public ResponseEntity<List<RecipeSummary>> feed(@CurrentUser AuthenticatedUser user,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+    Long userId = user.getUserId();
+    int max = Math.max(1, Math.min(limit, MAX_FEED_SIZE));
+    long[] ids = coLikes.recommend(userId, max);
+    if (ids.length == 0) ids = leaderboards.trending(max);
+    return ResponseEntity.ok(likeCounters.merge(recipeRepo.findSummariesInOrder(ids)));
+  }
+
+  // Like state for a page of cards in one call: the subset of ?ids=1,2,3 the caller
+  // likes. Answered from the caller's cached liked-id set, not a query per recipe.
+  @GetMapping("/me/liked")
+  public ResponseEntity<?> liked(@CurrentUser AuthenticatedUser user,
+                                 @RequestParam List<Long> ids) {
+    if (ids.size() > MAX_LIKED_LOOKUP) {
+      return ResponseEntity.badRequest().body("At most " + MAX_LIKED_LOOKUP + " ids per request");
+    }
+    return ResponseEntity.ok(likedRecipes.likedAmong(user.getUserId(), ids));
+  }
 }
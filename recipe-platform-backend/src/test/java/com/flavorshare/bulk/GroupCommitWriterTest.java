@@ -0,0 +1,133 @@
+package com.flavorshare.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GroupCommitWriter
+ * Tests inline writes when disabled, one transaction per full batch, and
+ * per-write retry when one write in a batch rolls back
+ */
+@DisplayName("Group Commit Writer Tests")
+class GroupCommitWriterTest {
+
+    private static final int WRITERS = 8;
+
+    private final CountingTransactionManager transactions = new CountingTransactionManager();
+    private final ExecutorService callers = Executors.newFixedThreadPool(WRITERS);
+    private GroupCommitWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (writer != null) writer.stop();
+    }
+
+    @Test
+    @DisplayName("Should run each write in its own transaction when disabled")
+    void shouldRunInlineWhenDisabled() {
+        writer = writer(false);
+        String caller = Thread.currentThread().getName();
+
+        String runOn = writer.execute(status -> Thread.currentThread().getName());
+        Integer two = writer.execute(status -> 2);
+
+        assertThat(runOn).isEqualTo(caller);
+        assertThat(two).isEqualTo(2);
+        assertThat(transactions.commits.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should commit a full batch of concurrent writes in one transaction")
+    void shouldCommitBatchTogether() throws Exception {
+        writer = writer(true);
+
+        List<Integer> results = executeConcurrently(i -> status -> i * 10);
+
+        for (int i = 0; i < WRITERS; i++) assertThat(results.get(i)).isEqualTo(i * 10);
+        assertThat(transactions.commits.get()).isEqualTo(1);
+        assertThat(transactions.rollbacks.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should retry writes one by one when one marks the batch rollback-only")
+    void shouldIsolateRolledBackWrite() throws Exception {
+        writer = writer(true);
+
+        List<Integer> results = executeConcurrently(i -> status -> {
+            if (i == 3) status.setRollbackOnly();
+            return i;
+        });
+
+        for (int i = 0; i < WRITERS; i++) assertThat(results.get(i)).isEqualTo(i);
+        // the batch, then the failing write on its own
+        assertThat(transactions.rollbacks.get()).isEqualTo(2);
+        assertThat(transactions.commits.get()).isEqualTo(WRITERS - 1);
+    }
+
+    // max-batch equals the number of callers and the wait is long, so all of them
+    // land in a single batch
+    private GroupCommitWriter writer(boolean enabled) {
+        GroupCommitWriter groupCommit = new GroupCommitWriter(transactions, enabled, 64, WRITERS, 5000);
+        groupCommit.start();
+        return groupCommit;
+    }
+
+    private List<Integer> executeConcurrently(IntFunction<TransactionCallback<Integer>> work) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            TransactionCallback<Integer> callback = work.apply(i);
+            futures.add(callers.submit(() -> {
+                start.await();
+                return writer.execute(callback);
+            }));
+        }
+        start.countDown();
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> future : futures) results.add(future.get(10, TimeUnit.SECONDS));
+        return results;
+    }
+
+    /** Transactions that only count how they end. */
+    private static final class CountingTransactionManager extends AbstractPlatformTransactionManager {
+        final AtomicInteger commits = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
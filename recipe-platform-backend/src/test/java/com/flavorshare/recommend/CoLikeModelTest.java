@@ -0,0 +1,118 @@
+package com.flavorshare.recommend;
+
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.repo.LikeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CoLikeModel
+ * Tests the parallel rebuild, incremental like/unlike updates and bounded rows
+ */
+@DisplayName("Co-Like Model Tests")
+class CoLikeModelTest {
+
+    // user -> liked recipes, in like order
+    private static final long[][] LIKES = {
+        {1, 10}, {1, 11},
+        {2, 10}, {2, 11}, {2, 12},
+        {3, 10}, {3, 13},
+        {4, 10},
+        {5, 12}
+    };
+
+    @Test
+    @DisplayName("Should rank co-liked recipes by normalized co-occurrence")
+    void shouldRankCoLikedRecipes() {
+        CoLikeModel model = model(200, 100);
+
+        // 11 is co-liked twice with 10; 12 and 13 once each, but 12 is also liked alone
+        assertThat(model.recommend(4L, 10)).containsExactly(11L, 13L, 12L);
+        assertThat(model.recommend(4L, 1)).containsExactly(11L);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for users without likes")
+    void shouldReturnNothingWithoutLikes() {
+        assertThat(model(200, 100).recommend(99L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow likes and unlikes")
+    void shouldFollowLikeEvents() {
+        CoLikeModel model = model(200, 100);
+
+        model.onLikeChanged(new LikeChangedEvent(11L, 4L, 1));
+        assertThat(model.recommend(4L, 10)).doesNotContain(10L, 11L).contains(12L, 13L);
+
+        model.onLikeChanged(new LikeChangedEvent(11L, 4L, -1));
+        assertThat(model.recommend(4L, 10)).containsExactly(11L, 13L, 12L);
+
+        // a brand-new user's first likes are enough to get recommendations
+        model.onLikeChanged(new LikeChangedEvent(13L, 6L, 1));
+        assertThat(model.recommend(6L, 10)).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the strongest neighbours per recipe")
+    void shouldBoundNeighbours() {
+        CoLikeModel model = model(200, 1);
+
+        assertThat(model.recommend(4L, 10)).containsExactly(11L);
+
+        CoLikeModel.Row row = new CoLikeModel.Row();
+        row.increment(1, 2);
+        row.increment(1, 2);
+        row.increment(2, 2);
+        row.increment(3, 2);
+        // 3 replaced the weakest entry (2) and inherited its count
+        assertThat(row.size).isEqualTo(2);
+        assertThat(row.ids).startsWith(1, 3);
+        assertThat(row.counts).startsWith(2, 2);
+    }
+
+    @Test
+    @DisplayName("Should keep likes made while the model is being rebuilt")
+    void shouldReplayLikesDuringRebuild() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < LIKES.length; i++) {
+            rows.add(new Object[] {(long) i + 1, LIKES[i][0], LIKES[i][1]});
+        }
+        LikeRepository likeRepository = mock(LikeRepository.class);
+        CoLikeModel model = new CoLikeModel(likeRepository, mock(PlatformTransactionManager.class), 200, 100);
+        // user 4 likes 11 after the scan has read the table
+        when(likeRepository.findPairsAfter(eq(0L), any())).thenAnswer(invocation -> {
+            model.onLikeChanged(new LikeChangedEvent(11L, 4L, 1));
+            return rows;
+        });
+
+        model.rebuild();
+
+        // 11 is in user 4's history now, so it is no longer recommended
+        assertThat(model.recommend(4L, 10)).doesNotContain(11L).contains(13L);
+    }
+
+    private static CoLikeModel model(int maxHistory, int maxNeighbors) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < LIKES.length; i++) {
+            rows.add(new Object[] {(long) i + 1, LIKES[i][0], LIKES[i][1]});
+        }
+        LikeRepository likeRepository = mock(LikeRepository.class);
+        when(likeRepository.findPairsAfter(eq(0L), any())).thenReturn(rows);
+
+        CoLikeModel model = new CoLikeModel(likeRepository, mock(PlatformTransactionManager.class),
+            maxHistory, maxNeighbors);
+        model.rebuild();
+        return model;
+    }
+}
@@ -0,0 +1,98 @@
+package com.flavorshare.search;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FuzzySearchIndex
+ * Tests typo tolerance, ranking and incremental index maintenance
+ */
+@DisplayName("Fuzzy Search Index Tests")
+class FuzzySearchIndexTest {
+
+    private LikeCounters likeCounters;
+    private FuzzySearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // no pending likes unless a test stubs some
+        likeCounters = mock(LikeCounters.class);
+        when(likeCounters.likeCount(anyLong(), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+        index = new FuzzySearchIndex(likeCounters);
+        index.add(recipe(1L, "Creamy Pasta Carbonara", List.of("Spaghetti", "Eggs", "Pancetta"), 3));
+        index.add(recipe(2L, "Chocolate Chip Cookies", List.of("Flour", "Butter", "Chocolate chips"), 10));
+        index.add(recipe(3L, "Hot Chocolate", List.of("Milk", "Cocoa"), 0));
+    }
+
+    @Test
+    @DisplayName("Should match misspelled titles and ingredients")
+    void shouldMatchMisspellings() {
+        assertThat(index.search("carbonra", 10)).containsExactly(1L);
+        assertThat(index.search("spagetti", 10)).containsExactly(1L);
+        assertThat(index.search("cooky", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank closer matches first and break ties by likes")
+    void shouldRankBySimilarityThenLikes() {
+        assertThat(index.search("choclate", 10)).containsExactly(2L, 3L);
+        assertThat(index.search("hot choclate", 10)).containsExactly(3L, 2L);
+
+        for (int i = 0; i < 20; i++) index.onLikeChanged(new LikeChangedEvent(3L, 1L, 1));
+        assertThat(index.search("choclate", 10)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void shouldReflectUpdatesAndRemovals() {
+        index.add(recipe(1L, "Creamy Risotto", List.of("Arborio rice"), 3));
+        assertThat(index.search("carbonra", 10)).isEmpty();
+        assertThat(index.search("risoto", 10)).containsExactly(1L);
+
+        index.remove(2L);
+        index.remove(3L);
+        assertThat(index.search("choclate", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reuse the slots of retired words")
+    void shouldReuseRetiredWordSlots() {
+        int slots = index.wordSlots();
+        String[] dishes = {"Lasagna", "Gnocchi", "Ramen", "Paella", "Tagine", "Goulash", "Falafel", "Moussaka"};
+        for (String dish : dishes) index.add(recipe(1L, dish, List.of(), 3));
+
+        assertThat(index.wordSlots()).isEqualTo(slots);
+        assertThat(index.search("mousaka", 10)).containsExactly(1L);
+        assertThat(index.search("lasagna", 10)).isEmpty();
+        assertThat(index.search("choclate", 10)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should bound edit distance")
+    void shouldBoundEditDistance() {
+        assertThat(FuzzySearchIndex.distance("choclate", "chocolate", 2)).isEqualTo(1);
+        assertThat(FuzzySearchIndex.distance("kitten", "sitting", 2)).isEqualTo(3);
+        assertThat(FuzzySearchIndex.distance("pasta", "cookies", 2)).isEqualTo(3);
+    }
+
+    private static Recipe recipe(Long id, String title, List<String> ingredients, int likes) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle(title);
+        recipe.setIngredients(ingredients);
+        recipe.setLikeCount(likes);
+        return recipe;
+    }
+}
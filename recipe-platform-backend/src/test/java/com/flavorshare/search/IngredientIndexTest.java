@@ -0,0 +1,76 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for IngredientIndex
+ * Tests line coverage counting, ranking by missing ingredients and incremental maintenance
+ */
+@DisplayName("Ingredient Index Tests")
+class IngredientIndexTest {
+
+    private IngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientIndex();
+        index.add(recipe(1L, List.of("Basmati rice", "Saffron threads", "Butter")));
+        index.add(recipe(2L, List.of("Red onion", "White onion", "Garlic")));
+        index.add(recipe(3L, List.of("Eggs", "Salt")));
+    }
+
+    @Test
+    @DisplayName("Should count each covered line once")
+    void shouldCountCoveredLines() {
+        assertThat(index.match(List.of("rice", "basmati rice", "butter"), -1, 10))
+            .extracting(IngredientIndex.Match::getRecipeId, IngredientIndex.Match::getMatched,
+                IngredientIndex.Match::getTotal)
+            .containsExactly(tuple(1L, 2, 3));
+
+        assertThat(index.match(List.of("onions"), -1, 10))
+            .extracting(IngredientIndex.Match::getRecipeId, IngredientIndex.Match::getMatched)
+            .containsExactly(tuple(2L, 2));
+    }
+
+    @Test
+    @DisplayName("Should rank by fewest missing, then most matched, and respect the cap")
+    void shouldRankByMissing() {
+        List<String> pantry = List.of("large eggs", "salt", "onion", "garlic", "butter");
+
+        assertThat(index.match(pantry, -1, 10)).extracting(IngredientIndex.Match::getRecipeId)
+            .containsExactly(2L, 3L, 1L);
+        assertThat(index.match(pantry, 0, 10)).extracting(IngredientIndex.Match::getRecipeId)
+            .containsExactly(2L, 3L);
+        assertThat(index.match(List.of("quince"), -1, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void shouldReflectUpdatesAndRemovals() {
+        index.add(recipe(1L, List.of("Arborio rice", "Parmesan")));
+        index.remove(3L);
+        index.add(recipe(4L, List.of("Salt", "Pepper", "Butter")));
+
+        assertThat(index.match(List.of("rice", "butter", "salt"), -1, 10))
+            .extracting(IngredientIndex.Match::getRecipeId, IngredientIndex.Match::getMatched,
+                IngredientIndex.Match::getTotal)
+            .containsExactly(tuple(4L, 2, 3), tuple(1L, 1, 2));
+        assertThat(index.match(List.of("eggs"), -1, 10)).isEmpty();
+    }
+
+    private static Recipe recipe(Long id, List<String> ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle("Recipe " + id);
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+}
@@ -0,0 +1,69 @@
+package com.flavorshare.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RecipeBitmap
+ * Tests set operations across sparse (array) and dense (bitmap) containers
+ */
+@DisplayName("Recipe Bitmap Tests")
+class RecipeBitmapTest {
+
+    @Test
+    @DisplayName("Should add, remove and count ids")
+    void shouldAddRemoveAndCount() {
+        RecipeBitmap bitmap = new RecipeBitmap();
+        assertThat(bitmap.add(5)).isTrue();
+        assertThat(bitmap.add(5)).isFalse();
+        bitmap.add(70_000);
+
+        assertThat(bitmap.contains(5)).isTrue();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+
+        assertThat(bitmap.remove(5)).isTrue();
+        assertThat(bitmap.contains(5)).isFalse();
+        bitmap.remove(70_000);
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should switch to a dense container and back")
+    void shouldConvertBetweenContainers() {
+        RecipeBitmap bitmap = new RecipeBitmap();
+        for (int i = 0; i < 10_000; i++) bitmap.add(i * 2);
+        assertThat(bitmap.cardinality()).isEqualTo(10_000);
+        assertThat(bitmap.contains(19_998)).isTrue();
+        assertThat(bitmap.contains(19_999)).isFalse();
+
+        for (int i = 0; i < 8_000; i++) bitmap.remove(i * 2);
+        assertThat(bitmap.cardinality()).isEqualTo(2_000);
+        assertThat(bitmap.contains(16_000)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should intersect and union mixed containers")
+    void shouldIntersectAndUnion() {
+        RecipeBitmap dense = new RecipeBitmap();
+        for (int i = 0; i < 6_000; i++) dense.add(i);
+        RecipeBitmap sparse = new RecipeBitmap();
+        sparse.add(10);
+        sparse.add(5_999);
+        sparse.add(6_000);
+        sparse.add(200_000);
+
+        assertThat(RecipeBitmap.and(dense, sparse).cardinality()).isEqualTo(2);
+        assertThat(RecipeBitmap.andCardinality(dense, sparse)).isEqualTo(2);
+        assertThat(RecipeBitmap.or(dense, sparse).cardinality()).isEqualTo(6_002);
+
+        List<Integer> ids = new ArrayList<>();
+        RecipeBitmap.and(sparse, dense).forEach(ids::add);
+        assertThat(ids).containsExactly(10, 5_999);
+    }
+}
@@ -0,0 +1,91 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import com.flavorshare.repo.RecipeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecipeIndexer
+ * Tests the batched rebuild and writes that race with it
+ */
+@DisplayName("Recipe Indexer Tests")
+class RecipeIndexerTest {
+
+    private final TitlesIndex titles = new TitlesIndex();
+    private final RecipeRepository recipeRepository = mock(RecipeRepository.class);
+    private final RecipeIndexer indexer =
+        new RecipeIndexer(List.of(titles), recipeRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    @DisplayName("Should rebuild every index from the table")
+    void shouldRebuildFromTable() {
+        titles.add(recipe(9L, "Left over"));
+        when(recipeRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(recipeRepository.findWithIngredientsByIdIn(anyCollection()))
+            .thenReturn(List.of(recipe(1L, "Pancakes"), recipe(2L, "Waffles")));
+
+        indexer.rebuild();
+
+        assertThat(titles.titles).containsOnly(Map.entry(1L, "Pancakes"), Map.entry(2L, "Waffles"));
+    }
+
+    @Test
+    @DisplayName("Should keep writes made while a stale batch is being indexed")
+    void shouldReplayWritesDuringRebuild() {
+        when(recipeRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        // the batch was read before recipe 1 was renamed and recipe 2 deleted
+        when(recipeRepository.findWithIngredientsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            indexer.index(recipe(1L, "Blueberry Pancakes"));
+            indexer.remove(2L);
+            return List.of(recipe(1L, "Pancakes"), recipe(2L, "Waffles"));
+        });
+
+        indexer.rebuild();
+
+        assertThat(titles.titles).containsOnly(Map.entry(1L, "Blueberry Pancakes"));
+
+        // once rebuilt, writes go straight to the indexes
+        indexer.remove(1L);
+        assertThat(titles.titles).isEmpty();
+    }
+
+    private static Recipe recipe(Long id, String title) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle(title);
+        return recipe;
+    }
+
+    /** Keeps the last indexed title per recipe. */
+    private static final class TitlesIndex implements RecipeIndex {
+        final Map<Long, String> titles = new HashMap<>();
+
+        @Override
+        public void add(Recipe recipe) {
+            titles.put(recipe.getId(), recipe.getTitle());
+        }
+
+        @Override
+        public void remove(long recipeId) {
+            titles.remove(recipeId);
+        }
+
+        @Override
+        public void clear() {
+            titles.clear();
+        }
+    }
+}
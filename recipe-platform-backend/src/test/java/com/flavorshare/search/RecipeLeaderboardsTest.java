@@ -0,0 +1,143 @@
+package com.flavorshare.search;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.event.ReviewChangedEvent;
+import com.flavorshare.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecipeLeaderboards
+ * Tests time-decayed trending and Bayesian top-rated rankings
+ */
+@DisplayName("Recipe Leaderboards Tests")
+class RecipeLeaderboardsTest {
+
+    private MutableClock clock;
+    private LikeCounters likeCounters;
+    private RecipeLeaderboards leaderboards;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        // no pending likes unless a test stubs some
+        likeCounters = mock(LikeCounters.class);
+        when(likeCounters.likeCount(anyLong(), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+        leaderboards = new RecipeLeaderboards(likeCounters, 24, 5, 3.5, clock);
+        leaderboards.add(recipe(1L));
+        leaderboards.add(recipe(2L));
+        leaderboards.add(recipe(3L));
+    }
+
+    @Test
+    @DisplayName("Should favour recent likes over older ones")
+    void shouldDecayTrendingScores() {
+        for (int i = 0; i < 3; i++) leaderboards.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+        clock.advance(Duration.ofHours(48));
+        for (int i = 0; i < 2; i++) leaderboards.onLikeChanged(new LikeChangedEvent(2L, 1L, 1));
+
+        assertThat(leaderboards.trending(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should rank by Bayesian average rather than raw average")
+    void shouldRankByBayesianAverage() {
+        leaderboards.onReviewChanged(new ReviewChangedEvent(1L, 1, 5));
+        for (int i = 0; i < 10; i++) {
+            leaderboards.onReviewChanged(new ReviewChangedEvent(2L, 1, i % 2 == 0 ? 5 : 4));
+        }
+
+        // recipe 3 has no reviews and is not ranked
+        assertThat(leaderboards.topRated(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should drop removed recipes and ignore their later events")
+    void shouldDropRemovedRecipes() {
+        leaderboards.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+        leaderboards.onReviewChanged(new ReviewChangedEvent(1L, 1, 4));
+        leaderboards.remove(1L);
+        leaderboards.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+
+        assertThat(leaderboards.trending(10)).isEmpty();
+        assertThat(leaderboards.topRated(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should seed like counts with likes not yet flushed to the row")
+    void shouldSeedWithPendingLikes() {
+        Recipe liked = recipe(4L);
+        liked.setLikeCount(1);
+        when(likeCounters.likeCount(eq(4L), anyInt())).thenReturn(5);
+        leaderboards.add(liked);
+
+        Recipe flushed = recipe(5L);
+        flushed.setLikeCount(3);
+        leaderboards.add(flushed);
+
+        assertThat(leaderboards.trending(10)).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should keep ranking correctly after the decay landmark is rebased")
+    void shouldRebaseLandmark() {
+        leaderboards.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+        clock.advance(Duration.ofDays(400));
+        leaderboards.onLikeChanged(new LikeChangedEvent(2L, 1L, 1));
+        leaderboards.onLikeChanged(new LikeChangedEvent(3L, 1L, 1));
+        leaderboards.onLikeChanged(new LikeChangedEvent(3L, 1L, 1));
+
+        assertThat(leaderboards.trending(2)).containsExactly(3L, 2L);
+    }
+
+    private Recipe recipe(Long id) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle("Recipe " + id);
+        recipe.setCreatedAt(LocalDateTime.ofInstant(clock.instant(), clock.getZone()));
+        return recipe;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
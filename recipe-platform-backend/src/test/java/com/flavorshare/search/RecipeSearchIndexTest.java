@@ -0,0 +1,91 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RecipeSearchIndex
+ * Tests BM25 ranking and incremental index maintenance
+ */
+@DisplayName("Recipe Search Index Tests")
+class RecipeSearchIndexTest {
+
+    private RecipeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeSearchIndex();
+        index.add(recipe(1L, "Creamy Pasta Carbonara", "Classic Italian pasta", List.of("Spaghetti", "Eggs", "Pancetta")));
+        index.add(recipe(2L, "Chocolate Chip Cookies", "Chewy cookies", List.of("Flour", "Butter", "Chocolate chips")));
+        index.add(recipe(3L, "Tomato Soup", "Simple soup, great with pasta on the side", List.of("Tomatoes", "Onion")));
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void shouldRankTitleMatchesFirst() {
+        long[] hits = index.search("pasta", 10);
+
+        assertThat(hits).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should match ingredients and ignore case and accents")
+    void shouldMatchIngredients() {
+        assertThat(index.search("PANCETTA", 10)).containsExactly(1L);
+        assertThat(index.search("tomatoés", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should respect the result limit")
+    void shouldRespectLimit() {
+        assertThat(index.search("pasta cookies soup", 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void shouldReflectUpdatesAndRemovals() {
+        index.add(recipe(2L, "Oatmeal Cookies", "Chewy cookies", List.of("Oats")));
+        assertThat(index.search("chocolate", 10)).isEmpty();
+        assertThat(index.search("oatmeal", 10)).containsExactly(2L);
+
+        index.remove(1L);
+        assertThat(index.search("carbonara", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop terms no recipe uses and reuse their slots")
+    void shouldDropUnusedTerms() {
+        int terms = index.termCount();
+        int slots = index.termSlots();
+
+        index.remove(2L);
+        assertThat(index.termCount()).isLessThan(terms);
+        assertThat(index.search("cookies", 10)).isEmpty();
+
+        index.add(recipe(2L, "Chocolate Chip Cookies", "Chewy cookies", List.of("Flour", "Butter", "Chocolate chips")));
+        assertThat(index.termCount()).isEqualTo(terms);
+        assertThat(index.termSlots()).isEqualTo(slots);
+        assertThat(index.search("cookies", 10)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for unknown terms")
+    void shouldReturnNothingForUnknownTerms() {
+        assertThat(index.search("sushi", 10)).isEmpty();
+    }
+
+    private static Recipe recipe(Long id, String title, String description, List<String> ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle(title);
+        recipe.setDescription(description);
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+}
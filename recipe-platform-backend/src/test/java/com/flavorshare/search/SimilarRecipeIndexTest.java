@@ -0,0 +1,73 @@
+package com.flavorshare.search;
+
+import com.flavorshare.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SimilarRecipeIndex
+ * Tests MinHash/LSH candidate lookup, exact ranking and incremental maintenance
+ */
+@DisplayName("Similar Recipe Index Tests")
+class SimilarRecipeIndexTest {
+
+    private SimilarRecipeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SimilarRecipeIndex();
+        index.add(recipe(1L, List.of("Spaghetti", "Eggs", "Pancetta", "Parmesan", "Black pepper")));
+        index.add(recipe(2L, List.of("Spaghetti", "Egg", "Guanciale", "Parmesan", "Black pepper")));
+        index.add(recipe(3L, List.of("Spaghetti", "Eggs", "Pancetta", "Parmesan", "Black pepper", "Cream")));
+        index.add(recipe(4L, List.of("Flour", "Butter", "Sugar", "Chocolate chips")));
+    }
+
+    @Test
+    @DisplayName("Should rank recipes by ingredient overlap")
+    void shouldRankByOverlap() {
+        List<SimilarRecipeIndex.Match> matches = index.similar(1L, 10);
+
+        assertThat(matches).extracting(SimilarRecipeIndex.Match::getRecipeId).containsExactly(3L, 2L);
+        assertThat(matches.get(0).getSimilarity()).isEqualTo(6f / 7);
+    }
+
+    @Test
+    @DisplayName("Should respect the limit and never return the recipe itself")
+    void shouldRespectLimit() {
+        assertThat(index.similar(1L, 1)).extracting(SimilarRecipeIndex.Match::getRecipeId).containsExactly(3L);
+        assertThat(index.similar(4L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals")
+    void shouldReflectUpdatesAndRemovals() {
+        index.add(recipe(4L, List.of("Spaghetti", "Eggs", "Pancetta", "Parmesan", "Black pepper")));
+        assertThat(index.similar(1L, 10)).extracting(SimilarRecipeIndex.Match::getRecipeId).containsExactly(4L, 3L, 2L);
+
+        index.remove(3L);
+        assertThat(index.contains(3L)).isFalse();
+        assertThat(index.similar(1L, 10)).extracting(SimilarRecipeIndex.Match::getRecipeId).containsExactly(4L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should compute exact Jaccard similarity")
+    void shouldComputeJaccard() {
+        String[] a = {"butter", "flour", "sugar"};
+        String[] b = {"egg", "flour", "sugar"};
+
+        assertThat(SimilarRecipeIndex.jaccard(a, b)).isEqualTo(0.5f);
+        assertThat(SimilarRecipeIndex.jaccard(a, new String[0])).isEqualTo(0f);
+    }
+
+    private static Recipe recipe(Long id, List<String> ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+}
@@ -0,0 +1,112 @@
+package com.flavorshare.search;
+
+import com.flavorshare.cache.LikeCounters;
+import com.flavorshare.dto.TitleSuggestion;
+import com.flavorshare.event.LikeChangedEvent;
+import com.flavorshare.model.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TitleSuggestIndex
+ * Tests prefix matching, popularity ordering and incremental maintenance
+ */
+@DisplayName("Title Suggest Index Tests")
+class TitleSuggestIndexTest {
+
+    private LikeCounters likeCounters;
+    private TitleSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // no pending likes unless a test stubs some
+        likeCounters = mock(LikeCounters.class);
+        when(likeCounters.likeCount(anyLong(), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+        index = new TitleSuggestIndex(likeCounters);
+        index.add(recipe(1L, "Creamy Pasta Carbonara", 5));
+        index.add(recipe(2L, "Pasta Primavera", 12));
+        index.add(recipe(3L, "Pancakes", 30));
+        index.add(recipe(4L, "Crème Brûlée", 8));
+    }
+
+    @Test
+    @DisplayName("Should rank prefix matches by like count")
+    void shouldRankByLikes() {
+        assertThat(ids(index.suggest("pa", 10))).containsExactly(3L, 2L, 1L);
+        assertThat(ids(index.suggest("pas", 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should match the start of any word, ignoring case and accents")
+    void shouldMatchWordStarts() {
+        assertThat(ids(index.suggest("CARB", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("creme b", 10))).containsExactly(4L);
+        assertThat(ids(index.suggest("arbonara", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should respect the limit")
+    void shouldRespectLimit() {
+        List<TitleSuggestion> suggestions = index.suggest("p", 1);
+
+        assertThat(suggestions).hasSize(1);
+        assertThat(suggestions.get(0).getTitle()).isEqualTo("Pancakes");
+        assertThat(suggestions.get(0).getLikeCount()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should reorder on likes and reflect updates and removals")
+    void shouldReflectChanges() {
+        for (int i = 0; i < 10; i++) index.onLikeChanged(new LikeChangedEvent(1L, 1L, 1));
+        assertThat(ids(index.suggest("pas", 10))).containsExactly(1L, 2L);
+
+        index.add(recipe(2L, "Spring Risotto", 12));
+        assertThat(ids(index.suggest("pas", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("ris", 10))).containsExactly(2L);
+
+        index.remove(3L);
+        assertThat(ids(index.suggest("pan", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep unflushed likes when a recipe is re-indexed")
+    void shouldKeepPendingLikesOnReindex() {
+        // the row still says 5; 10 likes wait in LikeCounters
+        when(likeCounters.likeCount(eq(1L), anyInt())).thenReturn(15);
+        index.add(recipe(1L, "Creamy Pasta Carbonara", 5));
+
+        assertThat(ids(index.suggest("pas", 10))).containsExactly(1L, 2L);
+        assertThat(index.suggest("creamy", 1).get(0).getLikeCount()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should match prefixes longer than the indexed depth")
+    void shouldMatchLongPrefixes() {
+        index.add(recipe(5L, "Slow Roasted Mediterranean Vegetable Lasagna", 1));
+        index.add(recipe(6L, "Slow Roasted Mediterranean Vegetable Lasagne", 2));
+
+        assertThat(ids(index.suggest("slow roasted mediterranean vegetable lasagna", 10))).containsExactly(5L);
+    }
+
+    private static List<Long> ids(List<TitleSuggestion> suggestions) {
+        return suggestions.stream().map(TitleSuggestion::getId).toList();
+    }
+
+    private static Recipe recipe(Long id, String title, int likes) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setTitle(title);
+        recipe.setLikeCount(likes);
+        return recipe;
+    }
+}
@@ -202,4 +202,28 @@ class JwtUtilTest {
         // Then
         assertThat(isValid).isTrue();
     }
+
+    @Test
+    @DisplayName("Should authenticate token into user id and username")
+    void shouldAuthenticateToken() {
+        // Given
+        String token = jwtUtil.generateToken(TEST_USERNAME, TEST_USER_ID);
+
+        // When
+        AuthenticatedUser user = jwtUtil.authenticate(token);
+
+        // Then
+        assertThat(user.getUserId()).isEqualTo(TEST_USER_ID);
+        assertThat(user.getUsername()).isEqualTo(TEST_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Should not authenticate token signed with another key")
+    void shouldNotAuthenticateForeignToken() {
+        // Given - every JwtUtil generates its own signing key
+        String token = new JwtUtil().generateToken(TEST_USERNAME, TEST_USER_ID);
+
+        // When & Then
+        assertThrows(Exception.class, () -> jwtUtil.authenticate(token));
+    }
 }
\ No newline at end of file
@@ -6,19 +6,27 @@ import com.flavorshare.model.User;
 import com.flavorshare.repo.RecipeRepository;
 import com.flavorshare.repo.UserRepository;
 import com.flavorshare.security.JwtUtil;
+import com.flavorshare.util.RecipePurger;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +36,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests all CRUD operations for recipes
  */
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 @DisplayName("Recipe Controller Tests")
@@ -51,6 +60,15 @@ class RecipeControllerTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipePurger recipePurger;
+
     private User testUser;
     private Recipe testRecipe;
     private String jwtToken;
@@ -100,6 +118,17 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$[0].servings").value(4));
     }
 
+    @Test
+    @DisplayName("Should list recipe summaries without ingredients or instructions")
+    void shouldListSummariesOnly() throws Exception {
+        mockMvc.perform(get("/api/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].author.username").value("cheftest"))
+                .andExpect(jsonPath("$[0].likeCount").value(0))
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist())
+                .andExpect(jsonPath("$[0].instructions").doesNotExist());
+    }
+
     @Test
     @DisplayName("Should return empty array when no recipes exist")
     void shouldReturnEmptyArrayWhenNoRecipes() throws Exception {
@@ -110,6 +139,252 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Should page through recipes with a keyset cursor")
+    void shouldPageThroughRecipesWithCursor() throws Exception {
+        for (int i = 1; i <= 2; i++) {
+            Recipe extra = new Recipe();
+            extra.setTitle("Extra " + i);
+            extra.setDescription("Extra recipe " + i);
+            extra.setCookTime(10);
+            extra.setServings(1);
+            extra.setAuthor(testUser);
+            recipeRepository.save(extra);
+        }
+
+        String cursor = mockMvc.perform(get("/api/recipes").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/recipes").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/recipes").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should export all recipes as newline-delimited JSON")
+    void shouldExportRecipesAsNdjson() throws Exception {
+        Recipe second = new Recipe();
+        second.setTitle("Export Soup");
+        second.setDescription("Second recipe for the export");
+        second.setIngredients(List.of("Water", "Salt"));
+        second.setCookTime(10);
+        second.setServings(1);
+        second.setAuthor(testUser);
+        recipeRepository.save(second);
+
+        String body = mockMvc.perform(get("/api/recipes/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("Test Pasta");
+        assertThat(objectMapper.readTree(lines[0]).get("ingredients")).hasSize(3);
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Export Soup");
+        assertThat(body).endsWith("\n");
+    }
+
+    // ==================== SEARCH ====================
+
+    @Test
+    @DisplayName("Should find created recipe through search")
+    void shouldFindCreatedRecipeThroughSearch() throws Exception {
+        Recipe newRecipe = new Recipe();
+        newRecipe.setTitle("Zucchini Fritters");
+        newRecipe.setDescription("Crispy fritters");
+        newRecipe.setIngredients(List.of("Zucchini", "Feta"));
+        newRecipe.setCookTime(20);
+        newRecipe.setServings(2);
+
+        mockMvc.perform(post("/api/recipes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newRecipe)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/recipes/search").param("q", "zucchini"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Zucchini Fritters"));
+
+        // misspelled: no exact term matches, so the trigram fallback answers
+        mockMvc.perform(get("/api/recipes/search").param("q", "zuchini friters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Zucchini Fritters"));
+    }
+
+    @Test
+    @DisplayName("Should suggest created recipe titles by prefix")
+    void shouldSuggestTitlesByPrefix() throws Exception {
+        Recipe newRecipe = new Recipe();
+        newRecipe.setTitle("Quince Tarte Tatin");
+        newRecipe.setDescription("Caramelised quince");
+        newRecipe.setIngredients(List.of("Quince", "Puff pastry"));
+        newRecipe.setCookTime(45);
+        newRecipe.setServings(6);
+
+        mockMvc.perform(post("/api/recipes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newRecipe)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/recipes/suggest").param("prefix", "tart"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Quince Tarte Tatin"));
+
+        mockMvc.perform(get("/api/recipes/suggest"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject search without query")
+    void shouldRejectSearchWithoutQuery() throws Exception {
+        mockMvc.perform(get("/api/recipes/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should filter recipes by category, difficulty and cook time")
+    void shouldFilterRecipes() throws Exception {
+        mockMvc.perform(get("/api/recipes").param("category", "MAIN_COURSE").param("cookTime", "MAX_30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Test Pasta"));
+
+        mockMvc.perform(get("/api/recipes").param("category", "DESSERT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/recipes").param("difficulty", "MEDIUM").param("cookTime", "MAX_15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown filter values")
+    void shouldRejectUnknownFilterValue() throws Exception {
+        mockMvc.perform(get("/api/recipes").param("category", "PIZZA"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should update facet counts when a recipe is created")
+    void shouldCountFacets() throws Exception {
+        String before = mockMvc.perform(get("/api/recipes/facets").param("difficulty", "HARD"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int desserts = objectMapper.readTree(before).at("/categories/DESSERT").asInt();
+        int slow = objectMapper.readTree(before).at("/cookTimes/OVER_120").asInt();
+
+        Recipe newRecipe = new Recipe();
+        newRecipe.setTitle("Slow Caramel Flan");
+        newRecipe.setDescription("Baked low and slow");
+        newRecipe.setCookTime(150);
+        newRecipe.setServings(6);
+        newRecipe.setDifficulty(Recipe.Difficulty.HARD);
+        newRecipe.setCategory(Recipe.Category.DESSERT);
+
+        mockMvc.perform(post("/api/recipes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newRecipe)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/recipes/facets").param("difficulty", "HARD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories.DESSERT").value(desserts + 1))
+                .andExpect(jsonPath("$.cookTimes.OVER_120").value(slow + 1))
+                .andExpect(jsonPath("$.difficulties.HARD").isNumber());
+    }
+
+    @Test
+    @DisplayName("Should serve trending and top-rated leaderboards")
+    void shouldServeLeaderboards() throws Exception {
+        mockMvc.perform(get("/api/recipes/trending").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(5))));
+
+        mockMvc.perform(get("/api/recipes/top-rated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @DisplayName("Should rank recipes by ingredients on hand")
+    void shouldRankRecipesByIngredientsOnHand() throws Exception {
+        Recipe newRecipe = new Recipe();
+        newRecipe.setTitle("Saffron Rice");
+        newRecipe.setDescription("Fragrant rice");
+        newRecipe.setIngredients(List.of("Basmati rice", "Saffron threads", "Butter"));
+        newRecipe.setCookTime(25);
+        newRecipe.setServings(4);
+
+        mockMvc.perform(post("/api/recipes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newRecipe)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/recipes/cook-with").param("ingredients", "saffron thread,rice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.title").value("Saffron Rice"))
+                .andExpect(jsonPath("$[0].matchedIngredients").value(2))
+                .andExpect(jsonPath("$[0].missingIngredients").value(1));
+
+        // both rice items cover the one rice line; saffron is still missing
+        mockMvc.perform(get("/api/recipes/cook-with").param("ingredients", "rice,basmati rice,butter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.title").value("Saffron Rice"))
+                .andExpect(jsonPath("$[0].matchedIngredients").value(2))
+                .andExpect(jsonPath("$[0].missingIngredients").value(1));
+    }
+
+    // ==================== SIMILAR RECIPES ====================
+
+    @Test
+    @DisplayName("Should find recipes with overlapping ingredients")
+    void shouldFindSimilarRecipes() throws Exception {
+        Long curryId = null;
+        for (String title : List.of("Chickpea Curry", "Chickpea Spinach Curry")) {
+            Recipe newRecipe = new Recipe();
+            newRecipe.setTitle(title);
+            newRecipe.setDescription("Weeknight curry");
+            newRecipe.setIngredients(title.contains("Spinach")
+                    ? List.of("Chickpeas", "Coconut milk", "Curry paste", "Onion", "Spinach")
+                    : List.of("Chickpeas", "Coconut milk", "Curry paste", "Onion"));
+            newRecipe.setCookTime(30);
+            newRecipe.setServings(4);
+
+            String created = mockMvc.perform(post("/api/recipes")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(newRecipe)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            if (curryId == null) curryId = objectMapper.readTree(created).get("id").asLong();
+        }
+
+        mockMvc.perform(get("/api/recipes/" + curryId + "/similar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipe.title").value("Chickpea Spinach Curry"))
+                .andExpect(jsonPath("$[0].similarity").isNumber());
+
+        mockMvc.perform(get("/api/recipes/99999/similar"))
+                .andExpect(status().isNotFound());
+    }
+
     // ==================== GET RECIPE BY ID ====================
 
     @Test
@@ -123,6 +398,45 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.author.username").value("cheftest"));
     }
 
+    @Test
+    @DisplayName("Should answer 304 when the recipe ETag still matches")
+    void shouldAnswerNotModifiedForUnchangedRecipe() throws Exception {
+        String etag = mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // a like changes the counters and so the ETag
+        mockMvc.perform(post("/api/recipes/" + testRecipe.getId() + "/like")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.likeCount").value(1));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for an unchanged recipe list page")
+    void shouldAnswerNotModifiedForUnchangedList() throws Exception {
+        String etag = mockMvc.perform(get("/api/recipes"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/recipes").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/recipes").param("category", "DESSERT").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("Should return 404 for non-existent recipe")
     void shouldReturn404ForNonExistentRecipe() throws Exception {
@@ -130,6 +444,55 @@ class RecipeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ==================== FETCH PLANS ====================
+
+    @Test
+    @DisplayName("Should load a recipe detail with a fixed number of statements")
+    void shouldLoadDetailWithFixedStatements() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.author.username").value("cheftest"))
+                .andExpect(jsonPath("$.ingredients", hasSize(3)))
+                .andExpect(jsonPath("$.instructions", hasSize(3)));
+
+        // recipe + author + ingredients, then instructions
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should export many recipes by several authors with a fixed number of statements")
+    void shouldExportWithFixedStatements() throws Exception {
+        User other = new User();
+        other.setUsername("otherchef");
+        other.setEmail("other@example.com");
+        other.setPassword(passwordEncoder.encode("password123"));
+        other = userRepository.save(other);
+        for (int i = 0; i < 10; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setTitle("Batch " + i);
+            recipe.setDescription("Fetch plan check");
+            recipe.setIngredients(List.of("Flour", "Water"));
+            recipe.setInstructions(List.of("Mix", "Bake"));
+            recipe.setCookTime(10);
+            recipe.setServings(1);
+            recipe.setAuthor(i % 2 == 0 ? testUser : other);
+            recipeRepository.save(recipe);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        mockMvc.perform(get("/api/recipes/export"))
+                .andExpect(status().isOk());
+
+        // recipes joined with authors, then one select per collection
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
     // ==================== CREATE RECIPE ====================
 
     @Test
@@ -232,25 +595,300 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.image").isNotEmpty());
     }
 
+    // ==================== BULK IMPORT ====================
+
+    @Test
+    @DisplayName("Should import valid recipes and report invalid ones by position")
+    void shouldBulkImportRecipes() throws Exception {
+        String body = "["
+                + "{\"title\":\"Imported Gazpacho\",\"description\":\"Cold soup\",\"cookTime\":15,\"servings\":4,"
+                + "\"ingredients\":[\"Tomatoes\",\"Cucumber\"],\"author\":{\"id\":" + testUser.getId() + "}},"
+                + "{\"description\":\"No title\",\"cookTime\":10,\"servings\":2},"
+                + "{\"title\":\"Bad Types\",\"description\":\"x\",\"cookTime\":\"soon\",\"servings\":2},"
+                + "{\"title\":\"Imported Flatbread\",\"description\":\"Quick bread\",\"cookTime\":20,\"servings\":6}"
+                + "]";
+
+        mockMvc.perform(post("/api/recipes/import")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Title is required"))
+                .andExpect(jsonPath("$.errors[1].index").value(2));
+
+        mockMvc.perform(get("/api/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].title", hasItems("Imported Gazpacho", "Imported Flatbread")));
+    }
+
+    @Test
+    @DisplayName("Should reject over-long import items by position and keep the rest")
+    void shouldRejectOverLongImportItems() throws Exception {
+        String longTitle = "x".repeat(201);
+        String body = "["
+                + "{\"title\":\"Imported Pesto\",\"description\":\"Basil sauce\",\"cookTime\":10,\"servings\":4},"
+                + "{\"title\":\"" + longTitle + "\",\"description\":\"Too long\",\"cookTime\":10,\"servings\":2},"
+                + "{\"title\":\"Imported Hummus\",\"description\":\"Chickpea dip\",\"cookTime\":15,\"servings\":6}"
+                + "]";
+
+        mockMvc.perform(post("/api/recipes/import")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Title must be at most 200 characters"));
+    }
+
+    @Test
+    @DisplayName("Should stop at malformed import input and keep earlier items")
+    void shouldAbortImportOnMalformedInput() throws Exception {
+        String body = "{\"title\":\"Line One\",\"description\":\"ok\",\"cookTime\":5,\"servings\":1}\n"
+                + "{\"title\": oops\n";
+
+        mockMvc.perform(post("/api/recipes/import")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.aborted").exists());
+    }
+
     // ==================== UPDATE RECIPE ====================
 
     @Test
     @DisplayName("Should update own recipe")
     void shouldUpdateOwnRecipe() throws Exception {
+        String etag = etagOf(testRecipe.getId());
         testRecipe.setTitle("Updated Pasta");
         testRecipe.setDescription("Even more delicious");
         testRecipe.setCookTime(25);
 
         mockMvc.perform(put("/api/recipes/" + testRecipe.getId())
                 .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testRecipe)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
                 .andExpect(jsonPath("$.title").value("Updated Pasta"))
                 .andExpect(jsonPath("$.description").value("Even more delicious"))
                 .andExpect(jsonPath("$.cookTime").value(25));
     }
 
+    @Test
+    @DisplayName("Should require If-Match on edits")
+    void shouldRequireIfMatchOnUpdate() throws Exception {
+        testRecipe.setTitle("Blind Update");
+
+        mockMvc.perform(put("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRecipe)))
+                .andExpect(status().isPreconditionRequired());
+
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Blind Patch"))))
+                .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    @DisplayName("Should reject an edit made from a stale version")
+    void shouldRejectStaleUpdate() throws Exception {
+        String etag = etagOf(testRecipe.getId());
+
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "First Edit"))))
+                .andExpect(status().isOk());
+
+        // a second client still holding the old ETag loses, and is told the current one
+        String current = etagOf(testRecipe.getId());
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Second Edit"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", current));
+
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(jsonPath("$.title").value("First Edit"));
+    }
+
+    @Test
+    @DisplayName("Should not treat a like as an edit conflict")
+    void shouldAllowUpdateAfterLike() throws Exception {
+        String etag = etagOf(testRecipe.getId());
+
+        mockMvc.perform(post("/api/recipes/" + testRecipe.getId() + "/like")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        assertThat(etagOf(testRecipe.getId())).isNotEqualTo(etag);
+
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Liked Pasta"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Liked Pasta"))
+                .andExpect(jsonPath("$.likeCount").value(1));
+    }
+
+    @Test
+    @DisplayName("Should patch only the fields sent without rewriting lists")
+    void shouldPatchTitleWithoutTouchingLists() throws Exception {
+        String etag = etagOf(testRecipe.getId());
+        Statistics statistics = statistics();
+
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Patched Pasta"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched Pasta"))
+                .andExpect(jsonPath("$.description").value("Delicious test pasta"))
+                .andExpect(jsonPath("$.cookTime").value(30))
+                .andExpect(jsonPath("$.ingredients", hasSize(3)));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionUpdateCount()).isZero();
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(statistics.getCollectionRemoveCount()).isZero();
+
+        entityManager.clear();
+        Recipe patched = recipeRepository.findById(testRecipe.getId()).orElseThrow();
+        assertThat(patched.getTitle()).isEqualTo("Patched Pasta");
+        assertThat(patched.getIngredients()).containsExactly("Pasta", "Tomato", "Garlic");
+    }
+
+    @Test
+    @DisplayName("Should apply list changes as a per-position diff")
+    void shouldPatchListsAsDiff() throws Exception {
+        String etag = etagOf(testRecipe.getId());
+        Statistics statistics = statistics();
+
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "ingredients", List.of("Pasta", "Tomatoes", "Garlic"),
+                        "instructions", List.of("Boil pasta", "Make sauce", "Mix", "Serve")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingredients[1]").value("Tomatoes"))
+                .andExpect(jsonPath("$.instructions", hasSize(4)))
+                .andExpect(jsonPath("$.instructions[3]").value("Serve"));
+        entityManager.flush();
+
+        // one row updated in each list, neither deleted and reinserted
+        assertThat(statistics.getCollectionUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(statistics.getCollectionRemoveCount()).isZero();
+
+        entityManager.clear();
+        Recipe patched = recipeRepository.findById(testRecipe.getId()).orElseThrow();
+        assertThat(patched.getIngredients()).containsExactly("Pasta", "Tomatoes", "Garlic");
+        assertThat(patched.getInstructions()).containsExactly("Boil pasta", "Make sauce", "Mix", "Serve");
+    }
+
+    @Test
+    @DisplayName("Should reject a patch that makes the recipe invalid")
+    void shouldRejectInvalidPatch() throws Exception {
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etagOf(testRecipe.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("cookTime", -5))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/recipes/99999")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Nope"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should reject a patch with an over-long ingredient")
+    void shouldRejectOverLongPatchedIngredient() throws Exception {
+        mockMvc.perform(patch("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etagOf(testRecipe.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ingredients", List.of("Pasta", "x".repeat(256))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Each ingredient must be at most 255 characters"));
+
+        entityManager.clear();
+        assertThat(recipeRepository.findById(testRecipe.getId()).orElseThrow().getIngredients())
+                .containsExactly("Pasta", "Tomato", "Garlic");
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached copy after update")
+    void shouldInvalidateCachedRecipeOnUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Pasta"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Recipe changes = new Recipe();
+        changes.setTitle("Cached Pasta v2");
+        changes.setDescription("Updated after a cached read");
+        changes.setCookTime(20);
+        changes.setServings(2);
+
+        mockMvc.perform(put("/api/recipes/" + testRecipe.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached Pasta v2"))
+                .andExpect(jsonPath("$.cookTime").value(20));
+    }
+
+    @Test
+    @DisplayName("Should expose recipe cache metrics to admins only")
+    void shouldExposeCacheMetrics() throws Exception {
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(status().isOk());
+
+        // testadmin is listed in admin.usernames for the test profile
+        String adminToken = jwtUtil.generateToken("testadmin", testUser.getId() + 1);
+        mockMvc.perform(get("/api/admin/cache/recipes")
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitRatio").isNumber())
+                .andExpect(jsonPath("$.loads").value(greaterThanOrEqualTo(1)));
+
+        mockMvc.perform(get("/api/admin/cache/recipes")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/admin/cache/recipes"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("Should reject update without authentication")
     void shouldRejectUpdateWithoutAuth() throws Exception {
@@ -273,6 +911,7 @@ class RecipeControllerTest {
 
         mockMvc.perform(put("/api/recipes/99999")
                 .header("Authorization", "Bearer " + jwtToken)
+                .header("If-Match", "*")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(fakeRecipe)))
                 .andExpect(status().isNotFound());
@@ -292,6 +931,52 @@ class RecipeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should hide a deleted recipe at once and purge its rows later")
+    void shouldSoftDeleteThenPurgeRecipe() throws Exception {
+        Long id = testRecipe.getId();
+        mockMvc.perform(post("/api/recipes/" + id + "/like")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/recipes/" + id + "/reviews")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("rating", 4, "comment", "Good"))))
+                .andExpect(status().isCreated());
+
+        // a live recipe is left alone, children included
+        assertThat(recipePurger.purge(id)).isFalse();
+        assertThat(countRows("likes", id)).isEqualTo(1);
+        assertThat(countRows("reviews", id)).isEqualTo(1);
+
+        mockMvc.perform(delete("/api/recipes/" + id)
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+
+        // hidden from every read, but nothing is deleted yet
+        assertThat(recipeRepository.findById(id)).isEmpty();
+        mockMvc.perform(get("/api/recipes"))
+                .andExpect(jsonPath("$[*].id", not(hasItem(id.intValue()))));
+        mockMvc.perform(post("/api/recipes/" + id + "/like")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/recipes/" + id)
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotFound());
+        assertThat(countRows("likes", id)).isEqualTo(1);
+        assertThat(countRows("recipe_ingredients", id)).isEqualTo(3);
+
+        assertThat(recipePurger.purge(id)).isTrue();
+
+        assertThat(countRows("likes", id)).isZero();
+        assertThat(countRows("reviews", id)).isZero();
+        assertThat(countRows("recipe_ingredients", id)).isZero();
+        assertThat(countRows("recipe_instructions", id)).isZero();
+        assertThat(((Number) entityManager.createNativeQuery("select count(*) from recipes where id = :id")
+                .setParameter("id", id).getSingleResult()).longValue()).isZero();
+        assertThat(recipePurger.purge(id)).isFalse();
+    }
+
     @Test
     @DisplayName("Should reject delete without authentication")
     void shouldRejectDeleteWithoutAuth() throws Exception {
@@ -327,6 +1012,7 @@ class RecipeControllerTest {
         // Add actual authorization check in controller if needed
         mockMvc.perform(put("/api/recipes/" + testRecipe.getId())
                 .header("Authorization", "Bearer " + otherToken)
+                .header("If-Match", "*")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testRecipe)));
         // Add appropriate status expectation based on your implementation
@@ -346,4 +1032,26 @@ class RecipeControllerTest {
                 .content(objectMapper.writeValueAsString(invalidRecipe)))
                 .andExpect(status().isBadRequest());
     }
+
+    // Flushes and detaches the test fixtures, then reads the ETag a client would edit against
+    private String etagOf(Long recipeId) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        return mockMvc.perform(get("/api/recipes/" + recipeId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private long countRows(String table, Long recipeId) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from " + table + " where recipe_id = :id")
+                .setParameter("id", recipeId).getSingleResult()).longValue();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // counters read 0 when statistics are off, which would pass every bound
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        statistics.clear();
+        return statistics;
+    }
 }
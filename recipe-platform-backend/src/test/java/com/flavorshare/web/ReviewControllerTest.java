@@ -15,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -31,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests review creation, retrieval, and deletion
  */
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
 @DisplayName("Review Controller Tests")
@@ -100,6 +102,8 @@ class ReviewControllerTest {
         testReview.setRecipe(testRecipe);
         testReview.setUser(testUser);
         testReview = reviewRepository.save(testReview);
+        // keep the denormalized totals in step, as ReviewController does
+        recipeRepository.adjustReviewTotals(testRecipe.getId(), 1, testReview.getRating());
     }
 
     // ==================== GET REVIEWS TESTS ====================
@@ -118,6 +122,8 @@ class ReviewControllerTest {
     @DisplayName("Should return empty array when no reviews exist")
     void shouldReturnEmptyArrayWhenNoReviews() throws Exception {
         reviewRepository.deleteAll();
+        // loading the recipe's lazy review list does not flush pending deletes
+        reviewRepository.flush();
 
         mockMvc.perform(get("/api/recipes/" + testRecipe.getId() + "/reviews"))
                 .andExpect(status().isOk())
@@ -278,27 +284,37 @@ class ReviewControllerTest {
     @Test
     @DisplayName("Should calculate average rating correctly")
     void shouldCalculateAverageRatingCorrectly() throws Exception {
-        // Add multiple reviews
-        Review review2 = new Review();
-        review2.setRating(5);
-        review2.setComment("Excellent!");
-        review2.setRecipe(testRecipe);
-        review2.setUser(testUser);
-        reviewRepository.save(review2);
-
-        Review review3 = new Review();
-        review3.setRating(3);
-        review3.setComment("Good");
-        review3.setRecipe(testRecipe);
-        review3.setUser(testUser);
-        reviewRepository.save(review3);
+        // Add multiple reviews through the API so the recipe totals are maintained
+        for (int rating : new int[] {5, 3}) {
+            ReviewRequest request = new ReviewRequest(rating, "Rated " + rating);
+            mockMvc.perform(post("/api/recipes/" + testRecipe.getId() + "/reviews")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
 
         // Average should be (4 + 5 + 3) / 3 = 4.0
         mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(3))
                 .andExpect(jsonPath("$.averageRating", closeTo(4.0, 0.1)));
     }
 
+    @Test
+    @DisplayName("Should update review totals when a review is deleted")
+    void shouldUpdateReviewTotalsOnDelete() throws Exception {
+        mockMvc.perform(delete("/api/recipes/" + testRecipe.getId() +
+                "/reviews/" + testReview.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/recipes/" + testRecipe.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(0))
+                .andExpect(jsonPath("$.averageRating").value(0.0));
+    }
+
     // ==================== MULTIPLE REVIEWS TESTS ====================
 
     @Test
@@ -0,0 +1,155 @@
+package com.flavorshare.web;
+
+import com.flavorshare.model.Recipe;
+import com.flavorshare.model.User;
+import com.flavorshare.repo.RecipeRepository;
+import com.flavorshare.repo.UserRepository;
+import com.flavorshare.security.JwtUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for UserController
+ * Tests the per-author recipe listing and the personalized feed
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+@DisplayName("User Controller Tests")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User testUser;
+    private String jwtToken;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername("feedreader");
+        testUser.setEmail("feed@example.com");
+        testUser.setPassword(passwordEncoder.encode("password123"));
+        testUser.setFullName("Feed Reader");
+        testUser = userRepository.save(testUser);
+
+        jwtToken = jwtUtil.generateToken(testUser.getUsername(), testUser.getId());
+    }
+
+    // ==================== RECIPES BY AUTHOR ====================
+
+    @Test
+    @DisplayName("Should page through an author's recipes newest first")
+    void shouldPageThroughAuthorRecipes() throws Exception {
+        for (String title : List.of("First Bake", "Second Bake", "Third Bake")) {
+            Recipe recipe = new Recipe();
+            recipe.setTitle(title);
+            recipe.setDescription("Baked by the feed reader");
+            recipe.setIngredients(List.of("Flour", "Water"));
+            recipe.setInstructions(List.of("Mix", "Bake"));
+            recipe.setCookTime(40);
+            recipe.setServings(2);
+            recipe.setAuthor(testUser);
+            recipeRepository.save(recipe);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        String cursor = mockMvc.perform(get("/api/users/" + testUser.getId() + "/recipes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Third Bake"))
+                .andExpect(jsonPath("$[1].title").value("Second Bake"))
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        // token's user, author check and one page query; the recipes collection is never loaded
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        mockMvc.perform(get("/api/users/" + testUser.getId() + "/recipes")
+                .header("Authorization", "Bearer " + jwtToken)
+                .param("size", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("First Bake"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for recipes of an unknown user")
+    void shouldReturn404ForUnknownAuthor() throws Exception {
+        mockMvc.perform(get("/api/users/99999/recipes")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotFound());
+    }
+
+    // ==================== FEED ====================
+
+    @Test
+    @DisplayName("Should serve a feed for a user without likes")
+    void shouldServeFeedWithoutLikes() throws Exception {
+        mockMvc.perform(get("/api/users/me/feed")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @DisplayName("Should reject feed request without authentication")
+    void shouldRejectFeedWithoutAuth() throws Exception {
+        mockMvc.perform(get("/api/users/me/feed"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // counters read 0 when statistics are off, which would pass every bound
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -46,10 +46,13 @@ export default function RecipePlatform() {
   const [showPassword, setShowPassword] = useState(false);
   const [isLoading, setIsLoading] = useState(false);
   const [fetchState, setFetchState] = useState({ loading: true, error: null });
+  const [nextCursor, setNextCursor] = useState(null);
+  const [facets, setFacets] = useState(null);
 
   const [currentUser, setCurrentUser] = useState(null);
   const [newComment, setNewComment] = useState("");
   const [currentView, setCurrentView] = useState("home");
+  const [myRecipes, setMyRecipes] = useState([]);
 
   const [newRecipe, setNewRecipe] = useState({
     title: "", description: "", cookTime: "", servings: "",
@@ -107,17 +110,23 @@ export default function RecipePlatform() {
     };
   };
 
-  const fetchRecipes = async () => {
+  const fetchRecipes = async (cursor = null) => {
     try {
       setFetchState({ loading: true, error: null });
 
-      const res = await fetch(`${API_BASE}/api/recipes`);
+      const params = new URLSearchParams();
+      if (cursor) params.set("cursor", cursor);
+      if (selectedCategory !== "All") params.set("category", selectedCategory);
+      const query = params.toString() ? `?${params}` : "";
+      const res = await fetch(`${API_BASE}/api/recipes${query}`);
       if (!res.ok) throw new Error(`HTTP ${res.status}`);
+      if (!cursor) fetchFacets();
 
       const data = await res.json();
       const mapped = Array.isArray(data) ? data.map(mapServerRecipe) : [];
 
-      setRecipes(mapped);
+      setRecipes((prev) => (cursor ? [...prev, ...mapped] : mapped));
+      setNextCursor(res.headers.get("X-Next-Cursor"));
       setFetchState({ loading: false, error: null });
     } catch (e) {
       console.error("API error:", e);
@@ -128,12 +137,34 @@ export default function RecipePlatform() {
     }
   };
 
+  // category counts for the filter; failures just hide the counts
+  const fetchFacets = async () => {
+    try {
+      const res = await fetch(`${API_BASE}/api/recipes/facets`);
+      if (res.ok) setFacets(await res.json());
+    } catch (e) {
+      console.error("API error:", e);
+    }
+  };
+
   useEffect(() => {
     const storedUser = localStorage.getItem("currentUser");
     if (storedUser) setCurrentUser(JSON.parse(storedUser));
+  }, []);
 
+  // profile lists the user's own recipes from the per-author endpoint, not the loaded page
+  useEffect(() => {
+    if (currentView !== "profile" || !currentUser) return;
+    fetch(`${API_BASE}/api/users/${currentUser.id}/recipes?size=100`)
+      .then((res) => (res.ok ? res.json() : []))
+      .then((data) => setMyRecipes(Array.isArray(data) ? data.map(mapServerRecipe) : []))
+      .catch((e) => console.error("API error:", e));
+  }, [currentView, currentUser]);
+
+  // the category filter is applied server-side so paging stays within it
+  useEffect(() => {
     fetchRecipes();
-  }, []);
+  }, [selectedCategory]);
 
   // search + filter
   const filteredRecipes = useMemo(() => {
@@ -145,6 +176,19 @@ export default function RecipePlatform() {
     });
   }, [recipes, searchTerm, selectedCategory]);
 
+  // list endpoints return summaries; load ingredients/instructions when a recipe is opened
+  const openRecipe = async (r) => {
+    setSelectedRecipe(r);
+    try {
+      const res = await fetch(`${API_BASE}/api/recipes/${r.id}`);
+      if (!res.ok) return;
+      const full = mapServerRecipe(await res.json());
+      setSelectedRecipe((sr) => (sr?.id === r.id ? { ...full, liked: sr.liked, comments: sr.comments } : sr));
+    } catch (e) {
+      console.error("API error:", e);
+    }
+  };
+
   // like toggle
   const toggleLike = (id) => {
     if (!currentUser) { setShowAuth(true); return; }
@@ -201,12 +245,26 @@ export default function RecipePlatform() {
     }
   };
 
-  const handleEditRecipe = (recipe) => {
-    if (!currentUser || recipe.authorId !== currentUser.id) {
+  const handleEditRecipe = async (summary) => {
+    if (!currentUser || summary.authorId !== currentUser.id) {
       alert("You can only edit your own recipes");
       return;
     }
 
+    // list views only carry summaries, so edit from the full recipe
+    // and keep its ETag: the save is only accepted against the version we edited
+    let recipe = summary;
+    let etag = null;
+    try {
+      const res = await fetch(`${API_BASE}/api/recipes/${summary.id}`);
+      if (res.ok) {
+        etag = res.headers.get("ETag");
+        recipe = mapServerRecipe(await res.json());
+      }
+    } catch (e) {
+      console.error("API error:", e);
+    }
+
     setEditingRecipe({
       id: recipe.id,
       title: recipe.title,
@@ -219,6 +277,7 @@ export default function RecipePlatform() {
       instructions: recipe.instructions?.length ? recipe.instructions : [""],
       image: recipe.image || "",
       authorId: recipe.authorId,
+      etag,
     });
 
     setShowEditRecipe(true);
@@ -251,11 +310,19 @@ export default function RecipePlatform() {
         `${API_BASE}/api/recipes/${editingRecipe.id}`,
         {
           method: "PUT",
-          headers: { "Content-Type": "application/json" },
+          headers: {
+            "Content-Type": "application/json",
+            ...(editingRecipe.etag && { "If-Match": editingRecipe.etag }),
+          },
           body: JSON.stringify(recipeToSend),
         }
       );
 
+      if (response.status === 412) {
+        throw new Error(
+          "this recipe was changed since you opened it. Close the editor and try again."
+        );
+      }
       if (!response.ok) {
         const errorText = await response.text();
         throw new Error(errorText || `HTTP ${response.status}`);
@@ -385,7 +452,7 @@ export default function RecipePlatform() {
 
   const getUserStats = () => {
     if (!currentUser) return { recipes: [], comments: [], likes: [], totalLikes: 0 };
-    const userRecipes = recipes.filter(r => r.authorId === currentUser.id);
+    const userRecipes = myRecipes;
     const userComments = recipes.flatMap((r) =>
       (r.comments || [])
         .filter(c => c.userId === currentUser.id)
@@ -670,7 +737,7 @@ export default function RecipePlatform() {
             <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
               {userStats.recipes.map((r) => (
                 <div key={r.id} className="relative">
-                  <MiniRecipeCard recipe={r} onClick={() => setSelectedRecipe(r)} />
+                  <MiniRecipeCard recipe={r} onClick={() => openRecipe(r)} />
                   <button
                     onClick={() => handleEditRecipe(r)}
                     className="absolute top-2 right-2 bg-white/90 p-2 rounded-full shadow-lg hover:bg-white"
@@ -700,7 +767,7 @@ export default function RecipePlatform() {
 
           <Section title="Liked Recipes" icon={<Heart className="h-6 w-6 text-stone-600" />}>
             <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-              {userStats.likes.map((r) => <MiniRecipeCard key={r.id} recipe={r} onClick={() => setSelectedRecipe(r)} liked />)}
+              {userStats.likes.map((r) => <MiniRecipeCard key={r.id} recipe={r} onClick={() => openRecipe(r)} liked />)}
               {!userStats.likes.length && <Empty icon={<Heart className="h-16 w-16 mx-auto mb-4 text-gray-300" />} text="No liked recipes yet. Discover and like some amazing recipes!" />}
             </div>
           </Section>
@@ -977,7 +1044,10 @@ export default function RecipePlatform() {
                 onChange={(e) => setSelectedCategory(e.target.value)}
                 className="px-4 py-3 rounded-xl border border-gray-200 focus:ring-2 focus:ring-stone-400 outline-none"
               >
-                {categories.map((c) => <option key={c.value} value={c.value}>{c.label}</option>)}
+                {categories.map((c) => {
+                  const count = c.value === "All" ? facets?.total : facets?.categories?.[c.value];
+                  return <option key={c.value} value={c.value}>{count != null ? `${c.label} (${count})` : c.label}</option>;
+                })}
               </select>
             </div>
           </div>
@@ -988,7 +1058,7 @@ export default function RecipePlatform() {
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-8">
           {filteredRecipes.map((r) => (
             <div key={r.id} className="bg-white/80 backdrop-blur-md rounded-2xl shadow-lg hover:shadow-2xl overflow-hidden cursor-pointer">
-              <div className="relative" onClick={() => setSelectedRecipe(r)}>
+              <div className="relative" onClick={() => openRecipe(r)}>
                 <div className="h-48 bg-gray-200 bg-cover bg-center relative" style={{ backgroundImage: r.image ? `url(${r.image})` : 'none' }}>
                   {!r.image && (
                     <div className="h-full flex items-center justify-center">
@@ -1008,7 +1078,7 @@ export default function RecipePlatform() {
                 </div>
               </div>
 
-              <div className="p-6" onClick={() => setSelectedRecipe(r)}>
+              <div className="p-6" onClick={() => openRecipe(r)}>
                 <h3 className="text-xl font-bold text-gray-800 mb-2">{r.title}</h3>
                 <p className="text-gray-600 mb-4 line-clamp-2">{r.description}</p>
 
@@ -1030,6 +1100,14 @@ export default function RecipePlatform() {
           ))}
         </div>
 
+        {nextCursor && !fetchState.loading && (
+          <div className="text-center pt-8">
+            <button onClick={() => fetchRecipes(nextCursor)} className="px-6 py-3 rounded-xl bg-stone-600 text-white font-semibold hover:bg-stone-700">
+              Load more recipes
+            </button>
+          </div>
+        )}
+
         {!fetchState.loading && filteredRecipes.length === 0 && (
           <div className="text-center py-12">
             <ChefHat className="h-16 w-16 mx-auto mb-4 text-gray-300" />